@@ -0,0 +1,54 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.common.pagination.CustomPageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.booking.service.BookingServiceImpl.BOOKINGS_SORTING;
+
+/**
+ * Offset page requests built for every paged listing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomPageRequestBenchmark {
+    private int from = 40;
+    private int size = 20;
+    private CustomPageRequest pageRequest;
+
+    @Setup
+    public void setUp() {
+        pageRequest = CustomPageRequest.of(from, size, BOOKINGS_SORTING);
+    }
+
+    @Benchmark
+    public CustomPageRequest of() {
+        return CustomPageRequest.of(from, size, BOOKINGS_SORTING);
+    }
+
+    @Benchmark
+    public int pageNumber() {
+        return pageRequest.getPageNumber();
+    }
+
+    @Benchmark
+    public Pageable next() {
+        return pageRequest.next();
+    }
+
+    @Benchmark
+    public Pageable previousOrFirst() {
+        return pageRequest.previousOrFirst();
+    }
+
+    @Benchmark
+    public Pageable withPage() {
+        return pageRequest.withPage(3);
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.CommentMapperImpl;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.benchmark.RepositoryStubs.stub;
+
+/**
+ * Owner item listing, which merges the last and next booking and the comments into every item
+ * (ItemServiceImpl.mergeBookingsAndComments). Repositories return prepared entities, so only
+ * the merging and mapping are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemMergeBenchmark {
+    private static final long OWNER_ID = 1;
+
+    @Param({"10", "100", "1000"})
+    int items;
+
+    @Param({"0", "5"})
+    int commentsPerItem;
+
+    @Param({"true", "false"})
+    boolean booked;
+
+    private ItemServiceImpl itemService;
+
+    @Setup
+    public void setUp() {
+        User owner = SyntheticData.user(OWNER_ID);
+        User booker = SyntheticData.user(2);
+        List<Item> ownerItems = SyntheticData.items(owner, items);
+        List<Booking> lastBookings = booked ? SyntheticData.bookings(ownerItems, booker, -2) : Collections.emptyList();
+        List<Booking> nextBookings = booked ? SyntheticData.bookings(ownerItems, booker, 2) : Collections.emptyList();
+        List<Comment> comments = SyntheticData.comments(ownerItems, booker, commentsPerItem);
+
+        UserRepository userRepository = stub(UserRepository.class, Map.of("existsById", args -> true));
+        itemService = new ItemServiceImpl(
+                stub(ItemRepository.class, Map.of("findAllByOwnerIdOrderById", args -> ownerItems)),
+                userRepository,
+                new UserIdRegistry(userRepository),
+                stub(ItemRequestRepository.class, Map.of()),
+                stub(BookingRepository.class, Map.of(
+                        "findLastApprovedByItemIdIn", args -> lastBookings,
+                        "findNextApprovedByItemIdIn", args -> nextBookings)),
+                stub(CommentRepository.class, Map.of("findAllByItemIdIn", args -> comments)),
+                new ItemMapperImpl(),
+                new CommentMapperImpl(),
+                stub(ItemSearchIndex.class, Map.of()),
+                new ItemDetailsCache(new ConcurrentMapCacheManager(ItemDetailsCache.NAME)));
+    }
+
+    @Benchmark
+    public List<ItemDto> getItems() {
+        return itemService.getItems(OWNER_ID, 0, items);
+    }
+}
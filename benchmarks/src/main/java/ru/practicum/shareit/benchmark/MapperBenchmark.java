@@ -0,0 +1,83 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.CommentMapperImpl;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct mappers on single entities and on lists of the given size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private final ItemMapper itemMapper = new ItemMapperImpl();
+    private final BookingMapper bookingMapper = new BookingMapperImpl();
+    private final CommentMapper commentMapper = new CommentMapperImpl();
+
+    @State(Scope.Benchmark)
+    public static class Entities {
+        @Param({"1", "100", "1000"})
+        int size;
+
+        List<Item> items;
+        List<Booking> bookings;
+        List<Comment> comments;
+
+        @Setup
+        public void setUp() {
+            User owner = SyntheticData.user(1);
+            User booker = SyntheticData.user(2);
+            items = SyntheticData.items(owner, size);
+            bookings = SyntheticData.bookings(items, booker, 1);
+            comments = SyntheticData.comments(items, booker, 1);
+        }
+    }
+
+    @Benchmark
+    public ItemDto itemToDto(Entities entities) {
+        return itemMapper.toDto(entities.items.get(0));
+    }
+
+    @Benchmark
+    public List<ItemDto> itemToDtoList(Entities entities) {
+        return itemMapper.toDtoList(entities.items);
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto(Entities entities) {
+        return bookingMapper.toDto(entities.bookings.get(0));
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingToDtoList(Entities entities) {
+        return bookingMapper.toDtoList(entities.bookings);
+    }
+
+    @Benchmark
+    public CommentDto commentToDto(Entities entities) {
+        return commentMapper.toDto(entities.comments.get(0));
+    }
+
+    @Benchmark
+    public List<CommentDto> commentToDtoList(Entities entities) {
+        return commentMapper.toDtoList(entities.comments);
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entities built in memory with fixed values, so runs on different commits see the same input.
+ */
+final class SyntheticData {
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private SyntheticData() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("user" + id)
+                .email("user" + id + "@mail.com")
+                .build();
+    }
+
+    static List<Item> items(User owner, int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            items.add(Item.builder()
+                    .id(id)
+                    .name("item" + id)
+                    .description("description of item " + id)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+        return items;
+    }
+
+    /**
+     * One approved booking per item, starting the given number of days away from {@link #NOW}.
+     */
+    static List<Booking> bookings(List<Item> items, User booker, int startInDays) {
+        List<Booking> bookings = new ArrayList<>(items.size());
+        for (Item item : items) {
+            LocalDateTime start = NOW.plusDays(startInDays);
+            LocalDateTime end = start.plusDays(1);
+            bookings.add(Booking.builder()
+                    .id(item.getId() * 2 + (startInDays < 0 ? 0 : 1))
+                    .item(item)
+                    .booker(booker)
+                    .owner(item.getOwner())
+                    .status(BookingStatus.APPROVED)
+                    .phase(BookingPhase.at(start, end, NOW))
+                    .start(start)
+                    .end(end)
+                    .build());
+        }
+        return bookings;
+    }
+
+    static List<Comment> comments(List<Item> items, User author, int perItem) {
+        List<Comment> comments = new ArrayList<>(items.size() * perItem);
+        long id = 1;
+        for (Item item : items) {
+            for (int i = 0; i < perItem; i++) {
+                comments.add(Comment.builder()
+                        .id(id++)
+                        .text("comment " + i + " on item " + item.getId())
+                        .item(item)
+                        .author(author)
+                        .created(NOW.minusHours(i))
+                        .build());
+            }
+        }
+        return comments;
+    }
+}
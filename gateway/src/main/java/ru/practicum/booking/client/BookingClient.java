@@ -2,19 +2,25 @@ package ru.practicum.booking.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.booking.dto.BookingDecisionDto;
+import ru.practicum.booking.dto.BookingDecisionResultDto;
 import ru.practicum.booking.dto.BookingDto;
 import ru.practicum.booking.dto.BookingState;
 import ru.practicum.booking.dto.NewBookingDto;
 import ru.practicum.httpClient.BaseHttpClient;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingClient extends BaseHttpClient {
     private static final String API_PREFIX = "/bookings";
 
@@ -23,30 +29,20 @@ public class BookingClient extends BaseHttpClient {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
                         .build()
         );
     }
 
-    public List<BookingDto> findAll(long userId, BookingState state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters, List.class);
+    public ResponseEntity<List<BookingDto>> findAll(long userId, BookingState state, int from, int size,
+                                                    @Nullable String cursor) {
+        return getPage("", userId, state, from, size, cursor);
     }
 
-    public List<BookingDto> getAllOwnerBookings(long userId, BookingState state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters, List.class);
+    public ResponseEntity<List<BookingDto>> getAllOwnerBookings(long userId, BookingState state, int from, int size,
+                                                                @Nullable String cursor) {
+        return getPage("/owner", userId, state, from, size, cursor);
     }
 
-
     public BookingDto create(long userId, NewBookingDto bookingDto) {
         return post("", userId, bookingDto, BookingDto.class);
     }
@@ -58,4 +54,25 @@ public class BookingClient extends BaseHttpClient {
     public BookingDto patch(long userId, Long bookingId, Boolean approved) {
         return patch("/" + bookingId + "?approved=" + approved, userId, BookingDto.class);
     }
+
+    @SuppressWarnings("unchecked")
+    public List<BookingDecisionResultDto> patchAll(long userId, List<BookingDecisionDto> decisions) {
+        return patch("/batch", userId, decisions, List.class);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private ResponseEntity<List<BookingDto>> getPage(String path, long userId, BookingState state, int from, int size,
+                                                     @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        ));
+        String query = path + "?state={state}&from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            query += "&cursor={cursor}";
+        }
+        return (ResponseEntity) getPage(query, userId, parameters, List.class);
+    }
 }
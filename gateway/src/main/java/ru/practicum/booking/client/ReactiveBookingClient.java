@@ -0,0 +1,75 @@
+package ru.practicum.booking.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.booking.dto.BookingDecisionDto;
+import ru.practicum.booking.dto.BookingDecisionResultDto;
+import ru.practicum.booking.dto.BookingDto;
+import ru.practicum.booking.dto.BookingState;
+import ru.practicum.booking.dto.NewBookingDto;
+import ru.practicum.httpClient.ReactiveBaseHttpClient;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingClient extends ReactiveBaseHttpClient {
+    private static final String API_PREFIX = "/bookings";
+
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<List<BookingDto>>> findAll(long userId, BookingState state, int from, int size,
+                                                          @Nullable String cursor) {
+        return getPage("", userId, state, from, size, cursor);
+    }
+
+    public Mono<ResponseEntity<List<BookingDto>>> getAllOwnerBookings(long userId, BookingState state, int from,
+                                                                      int size, @Nullable String cursor) {
+        return getPage("/owner", userId, state, from, size, cursor);
+    }
+
+    public Mono<BookingDto> create(long userId, NewBookingDto bookingDto) {
+        return post("", userId, bookingDto, BookingDto.class);
+    }
+
+    public Mono<BookingDto> get(long userId, Long bookingId) {
+        return get("/" + bookingId, userId, BookingDto.class);
+    }
+
+    public Mono<BookingDto> patch(long userId, Long bookingId, Boolean approved) {
+        return patch("/" + bookingId + "?approved=" + approved, userId, null, BookingDto.class);
+    }
+
+    public Flux<BookingDecisionResultDto> patchAll(long userId, List<BookingDecisionDto> decisions) {
+        return patchFlux("/batch", userId, decisions, BookingDecisionResultDto.class);
+    }
+
+    private Mono<ResponseEntity<List<BookingDto>>> getPage(String path, long userId, BookingState state, int from,
+                                                           int size, @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        ));
+        String query = path + "?state={state}&from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            query += "&cursor={cursor}";
+        }
+        return getPage(query, userId, parameters, BookingDto.class);
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.booking.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.booking.client.ReactiveBookingClient;
+import ru.practicum.booking.dto.BookingDecisionDto;
+import ru.practicum.booking.dto.BookingDecisionResultDto;
+import ru.practicum.booking.dto.BookingDto;
+import ru.practicum.booking.dto.BookingState;
+import ru.practicum.booking.dto.NewBookingDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static ru.practicum.common.model.Constants.*;
+
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Validated
+public class ReactiveBookingController {
+
+    private final ReactiveBookingClient bookingClient;
+
+    @PostMapping
+    public Mono<BookingDto> create(@RequestHeader(USER_HEADER) Long userId,
+                                   @Valid @RequestBody NewBookingDto bookingDto) {
+        return bookingClient.create(userId, bookingDto);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<BookingDto> patch(@RequestHeader(USER_HEADER) Long userId,
+                                  @PathVariable Long bookingId,
+                                  @RequestParam Boolean approved) {
+        return bookingClient.patch(userId, bookingId, approved);
+    }
+
+    @PatchMapping("/batch")
+    public Flux<BookingDecisionResultDto> patchAll(@RequestHeader(USER_HEADER) Long userId,
+                                                   @RequestBody
+                                                   @NotEmpty(message = "decisions can not be empty")
+                                                   @Size(max = MAX_BATCH_SIZE, message = "max batch size is " + MAX_BATCH_SIZE)
+                                                   List<@Valid BookingDecisionDto> decisions) {
+        return bookingClient.patchAll(userId, decisions);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<BookingDto> get(@RequestHeader(USER_HEADER) Long userId,
+                                @PathVariable Long bookingId) {
+        return bookingClient.get(userId, bookingId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<BookingDto>>> findAll(@RequestHeader(USER_HEADER) Long userId,
+                                                          @RequestParam(defaultValue = "ALL") BookingState state,
+                                                          @RequestParam(defaultValue = MIN_SIZE) @PositiveOrZero int from,
+                                                          @RequestParam(defaultValue = MAX_SIZE) @Positive int size,
+                                                          @RequestParam(required = false) @Size(max = 200) String cursor) {
+        return bookingClient.findAll(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<List<BookingDto>>> getAllOwnerBookings(@RequestHeader(USER_HEADER) Long userId,
+                                                                      @RequestParam(defaultValue = "ALL") BookingState state,
+                                                                      @RequestParam(defaultValue = MIN_SIZE) @PositiveOrZero int from,
+                                                                      @RequestParam(defaultValue = MAX_SIZE) @Positive int size,
+                                                                      @RequestParam(required = false) @Size(max = 200) String cursor) {
+        return bookingClient.getAllOwnerBookings(userId, state, from, size, cursor);
+    }
+}
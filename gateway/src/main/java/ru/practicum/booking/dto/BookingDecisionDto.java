@@ -0,0 +1,23 @@
+package ru.practicum.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class BookingDecisionDto {
+
+    @NotNull(message = "bookingId can not be null")
+    @Positive(message = "bookingId should be grater than 0")
+    private Long bookingId;
+
+    @NotNull(message = "approved can not be null")
+    private Boolean approved;
+}
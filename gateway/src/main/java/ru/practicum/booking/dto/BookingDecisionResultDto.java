@@ -0,0 +1,20 @@
+package ru.practicum.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one decision of a batch approval, either the updated booking or the reason it was not applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDecisionResultDto {
+
+    private Long bookingId;
+
+    private BookingDto booking;
+
+    private String error;
+}
@@ -0,0 +1,82 @@
+package ru.practicum.common.handler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.ServerWebInputException;
+import ru.practicum.common.model.ErrorResponse;
+
+import javax.validation.ConstraintViolationException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive mode counterpart of GatewayExceptionHandler, answers with the same bodies and statuses.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveGatewayExceptionHandler {
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleValidationErrors(WebExchangeBindException ex) {
+        List<String> errors = ex.getAllErrors()
+                .stream()
+                .map(DefaultMessageSourceResolvable::getDefaultMessage)
+                .collect(Collectors.toList());
+        log.info(errors.toString());
+        return new ErrorResponse(errors);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleConstraintErrors(ConstraintViolationException ex) {
+        List<String> errors = Collections.singletonList(ex.getMessage());
+        log.info(errors.toString());
+        return new ErrorResponse(errors);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<Object> handleInputErrors(ServerWebInputException ex) {
+        log.info(ex.getMessage());
+        if (ex.getCause() instanceof TypeMismatchException) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Unknown state: UNSUPPORTED_STATUS"));
+        }
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse(Collections.singletonList(ex.getReason())));
+    }
+
+    @ExceptionHandler(MethodNotAllowedException.class)
+    @ResponseStatus(HttpStatus.METHOD_NOT_ALLOWED)
+    public ErrorResponse handleNotSupportedMethod(MethodNotAllowedException ex) {
+        List<String> errors = Collections.singletonList(ex.getMessage());
+        log.info(errors.toString());
+        return new ErrorResponse(errors);
+    }
+
+    @ExceptionHandler(Exception.class)
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public final ErrorResponse handleGeneralExceptions(Exception ex) {
+        List<String> errors = Collections.singletonList(ex.getMessage());
+        log.info(errors.toString());
+        return new ErrorResponse(errors);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<String> handleWebClientResponseException(WebClientResponseException e) {
+        log.info(e.getResponseBodyAsString());
+        return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.web.client.RestTemplate;
 import java.util.List;
 import java.util.Map;
 
+import static ru.practicum.common.model.Constants.NEXT_CURSOR_HEADER;
 import static ru.practicum.common.model.Constants.USER_HEADER;
 
 public class BaseHttpClient {
@@ -29,6 +30,21 @@ public class BaseHttpClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, returnType);
     }
 
+    /**
+     * Sends a GET for one page of a list and keeps only the next page cursor from the server response headers.
+     */
+    protected <S> ResponseEntity<S> getPage(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                            Class<S> returnType) {
+        ResponseEntity<S> response = exchange(HttpMethod.GET, path, userId, parameters, null, returnType);
+        String nextCursor = response.getHeaders().getFirst(NEXT_CURSOR_HEADER);
+        if (nextCursor == null) {
+            return ResponseEntity.ok(response.getBody());
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, nextCursor)
+                .body(response.getBody());
+    }
+
     protected <T, S> S post(String path, T body, Class<S> returnType) {
         return post(path, null, null, body, returnType);
     }
@@ -73,16 +89,19 @@ public class BaseHttpClient {
 
     private <T, S> S makeAndSendRequest(HttpMethod method, String path, Long userId,
                                         @Nullable Map<String, Object> parameters, @Nullable T body, Class<S> returnType) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return exchange(method, path, userId, parameters, body, returnType).getBody();
+    }
 
-        ResponseEntity<S> shareitServerResponse;
+    private <T, S> ResponseEntity<S> exchange(HttpMethod method, String path, Long userId,
+                                              @Nullable Map<String, Object> parameters, @Nullable T body,
+                                              Class<S> returnType) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
         if (parameters != null) {
-            shareitServerResponse = rest.exchange(path, method, requestEntity, returnType, parameters);
+            return rest.exchange(path, method, requestEntity, returnType, parameters);
         } else {
-            shareitServerResponse = rest.exchange(path, method, requestEntity, returnType);
+            return rest.exchange(path, method, requestEntity, returnType);
         }
-        return shareitServerResponse.getBody();
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -0,0 +1,44 @@
+package ru.practicum.httpClient;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection pool and timeout settings of the transport shared by all clients of the shareit server.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+    /**
+     * Connections kept open to all routes together.
+     */
+    private int maxConnections = 200;
+    /**
+     * Connections kept open to a single host, the gateway talks to one server so this is usually equal to the total.
+     */
+    private int maxConnectionsPerRoute = 200;
+    /**
+     * Time to establish a TCP connection.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /**
+     * Time to wait for a free connection from the pool before failing the request.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    /**
+     * Maximum inactivity between two data packets of a response.
+     */
+    private Duration readTimeout = Duration.ofSeconds(30);
+    /**
+     * Idle pooled connections are closed after this time, also caps keep-alive offered by the server.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    /**
+     * Pooled connections idle for longer than this are checked for being stale before reuse.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
@@ -0,0 +1,129 @@
+package ru.practicum.httpClient;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static ru.practicum.common.model.Constants.NEXT_CURSOR_HEADER;
+import static ru.practicum.common.model.Constants.USER_HEADER;
+
+/**
+ * Non-blocking counterpart of BaseHttpClient, error responses of the server are signalled as
+ * WebClientResponseException.
+ */
+public class ReactiveBaseHttpClient {
+    protected final WebClient webClient;
+
+    public ReactiveBaseHttpClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    protected <S> Mono<S> get(String path, Class<S> returnType) {
+        return get(path, null, null, returnType);
+    }
+
+    protected <S> Mono<S> get(String path, long userId, Class<S> returnType) {
+        return get(path, userId, null, returnType);
+    }
+
+    protected <S> Mono<S> get(String path, Long userId, @Nullable Map<String, Object> parameters,
+                              Class<S> returnType) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null)
+                .bodyToMono(returnType);
+    }
+
+    /**
+     * Decodes the elements of a JSON array response one by one as they arrive.
+     */
+    protected <S> Flux<S> getFlux(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                  Class<S> elementType) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null)
+                .bodyToFlux(elementType);
+    }
+
+    /**
+     * Sends a GET for one page of a list and keeps only the next page cursor from the server response headers.
+     */
+    protected <S> Mono<ResponseEntity<List<S>>> getPage(String path, Long userId,
+                                                        @Nullable Map<String, Object> parameters,
+                                                        Class<S> elementType) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null)
+                .toEntityList(elementType)
+                .map(response -> {
+                    String nextCursor = response.getHeaders().getFirst(NEXT_CURSOR_HEADER);
+                    if (nextCursor == null) {
+                        return ResponseEntity.ok(response.getBody());
+                    }
+                    return ResponseEntity.ok()
+                            .header(NEXT_CURSOR_HEADER, nextCursor)
+                            .body(response.getBody());
+                });
+    }
+
+    protected <T, S> Mono<S> post(String path, T body, Class<S> returnType) {
+        return post(path, null, body, returnType);
+    }
+
+    protected <T, S> Mono<S> post(String path, Long userId, T body, Class<S> returnType) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, null, body)
+                .bodyToMono(returnType);
+    }
+
+    /**
+     * Sends a POST and decodes the elements of the JSON array response one by one as they arrive.
+     */
+    protected <T, S> Flux<S> postFlux(String path, Long userId, T body, Class<S> elementType) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, null, body)
+                .bodyToFlux(elementType);
+    }
+
+    protected <T, S> Mono<S> patch(String path, T body, Class<S> returnType) {
+        return patch(path, null, body, returnType);
+    }
+
+    protected <T, S> Mono<S> patch(String path, Long userId, @Nullable T body, Class<S> returnType) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, null, body)
+                .bodyToMono(returnType);
+    }
+
+    /**
+     * Sends a PATCH and decodes the elements of the JSON array response one by one as they arrive.
+     */
+    protected <T, S> Flux<S> patchFlux(String path, Long userId, T body, Class<S> elementType) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, null, body)
+                .bodyToFlux(elementType);
+    }
+
+    protected Mono<Void> delete(String path) {
+        return delete(path, null);
+    }
+
+    protected Mono<Void> delete(String path, Long userId) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, null, null)
+                .toBodilessEntity()
+                .then();
+    }
+
+    private <T> WebClient.ResponseSpec makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                          @Nullable Map<String, Object> parameters,
+                                                          @Nullable T body) {
+        WebClient.RequestBodySpec request = (parameters != null
+                ? webClient.method(method).uri(path, parameters)
+                : webClient.method(method).uri(path))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (userId != null) {
+                        headers.set(USER_HEADER, String.valueOf(userId));
+                    }
+                });
+        return (body != null ? request.bodyValue(body) : request).retrieve();
+    }
+}
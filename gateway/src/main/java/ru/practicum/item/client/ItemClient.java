@@ -1,12 +1,13 @@
 package ru.practicum.item.client;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.httpClient.BaseHttpClient;
 import ru.practicum.item.dto.CommentDto;
+import ru.practicum.item.dto.ItemBatchResultDto;
 import ru.practicum.item.dto.ItemDto;
 import ru.practicum.item.dto.NewCommentDto;
 import ru.practicum.item.dto.NewItemDto;
@@ -15,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemClient extends BaseHttpClient {
 
     private static final String API_PREFIX = "/items";
@@ -23,7 +25,6 @@ public class ItemClient extends BaseHttpClient {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
                         .build()
         );
     }
@@ -32,6 +33,10 @@ public class ItemClient extends BaseHttpClient {
         return post("/", userId, itemDto, ItemDto.class);
     }
 
+    public List<ItemBatchResultDto> addAll(Long userId, List<NewItemDto> items) {
+        return post("/batch", userId, items, List.class);
+    }
+
     public void delete(Long userId, Long itemId) {
         delete("/" + itemId, userId);
     }
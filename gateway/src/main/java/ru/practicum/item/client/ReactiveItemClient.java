@@ -0,0 +1,73 @@
+package ru.practicum.item.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.httpClient.ReactiveBaseHttpClient;
+import ru.practicum.item.dto.CommentDto;
+import ru.practicum.item.dto.ItemBatchResultDto;
+import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.dto.NewCommentDto;
+import ru.practicum.item.dto.NewItemDto;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemClient extends ReactiveBaseHttpClient {
+
+    private static final String API_PREFIX = "/items";
+
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .build()
+        );
+    }
+
+    public Mono<ItemDto> add(Long userId, NewItemDto itemDto) {
+        return post("/", userId, itemDto, ItemDto.class);
+    }
+
+    public Flux<ItemBatchResultDto> addAll(Long userId, List<NewItemDto> items) {
+        return postFlux("/batch", userId, items, ItemBatchResultDto.class);
+    }
+
+    public Mono<Void> delete(Long userId, Long itemId) {
+        return delete("/" + itemId, userId);
+    }
+
+    public Mono<ItemDto> patch(Long userId, NewItemDto itemUpdateDto, long itemId) {
+        return patch("/" + itemId, userId, itemUpdateDto, ItemDto.class);
+    }
+
+    public Mono<ItemDto> get(long itemId, long userId) {
+        return get("/" + itemId, userId, ItemDto.class);
+    }
+
+    public Flux<ItemDto> findAll(Long userId, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return getFlux("?from={from}&size={size}", userId, parameters, ItemDto.class);
+    }
+
+    public Flux<ItemDto> search(Long userId, String text, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return getFlux("/search?text={text}&from={from}&size={size}", userId, parameters, ItemDto.class);
+    }
+
+    public Mono<CommentDto> addCommentToItem(Long userId, Long itemId, NewCommentDto commentDto) {
+        return post("/" + itemId + "/comment", userId, commentDto, CommentDto.class);
+    }
+}
@@ -1,10 +1,12 @@
 package ru.practicum.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.item.client.ItemClient;
 import ru.practicum.item.dto.CommentDto;
+import ru.practicum.item.dto.ItemBatchResultDto;
 import ru.practicum.item.dto.ItemDto;
 import ru.practicum.item.dto.NewCommentDto;
 import ru.practicum.item.dto.NewItemDto;
@@ -12,8 +14,10 @@ import ru.practicum.user.dto.Create;
 import ru.practicum.user.dto.Update;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 import java.util.Collections;
 import java.util.List;
 
@@ -21,6 +25,7 @@ import static ru.practicum.common.model.Constants.*;
 
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Validated
@@ -40,6 +45,17 @@ public class ItemController {
         return itemClient.add(userId, item);
     }
 
+    @PostMapping("/batch")
+    @Validated(Create.class)
+    public List<ItemBatchResultDto> addAll(@RequestHeader(USER_HEADER) Long userId,
+                                           @RequestBody
+                                           @NotEmpty(message = "items can not be empty", groups = Create.class)
+                                           @Size(max = MAX_BATCH_SIZE, message = "max batch size is " + MAX_BATCH_SIZE,
+                                                   groups = Create.class)
+                                           List<@Valid NewItemDto> items) {
+        return itemClient.addAll(userId, items);
+    }
+
     @DeleteMapping("/{itemId}")
     public void deleteItem(@RequestHeader(USER_HEADER) long userId,
                            @Positive @PathVariable long itemId) {
@@ -0,0 +1,96 @@
+package ru.practicum.item.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.item.client.ReactiveItemClient;
+import ru.practicum.item.dto.CommentDto;
+import ru.practicum.item.dto.ItemBatchResultDto;
+import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.dto.NewCommentDto;
+import ru.practicum.item.dto.NewItemDto;
+import ru.practicum.user.dto.Create;
+import ru.practicum.user.dto.Update;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static ru.practicum.common.model.Constants.*;
+
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/items")
+@RequiredArgsConstructor
+@Validated
+public class ReactiveItemController {
+    private final ReactiveItemClient itemClient;
+
+    @GetMapping
+    public Flux<ItemDto> findAll(@RequestHeader(USER_HEADER) long userId,
+                                 @RequestParam(defaultValue = MIN_SIZE) @PositiveOrZero int from,
+                                 @RequestParam(defaultValue = MAX_SIZE) @Positive int size) {
+        return itemClient.findAll(userId, from, size);
+    }
+
+    @PostMapping
+    public Mono<ItemDto> add(@RequestHeader(USER_HEADER) Long userId,
+                             @Validated(Create.class) @RequestBody NewItemDto item) {
+        return itemClient.add(userId, item);
+    }
+
+    @PostMapping("/batch")
+    @Validated(Create.class)
+    public Flux<ItemBatchResultDto> addAll(@RequestHeader(USER_HEADER) Long userId,
+                                           @RequestBody
+                                           @NotEmpty(message = "items can not be empty", groups = Create.class)
+                                           @Size(max = MAX_BATCH_SIZE, message = "max batch size is " + MAX_BATCH_SIZE,
+                                                   groups = Create.class)
+                                           List<@Valid NewItemDto> items) {
+        return itemClient.addAll(userId, items);
+    }
+
+    @DeleteMapping("/{itemId}")
+    public Mono<Void> deleteItem(@RequestHeader(USER_HEADER) long userId,
+                                 @Positive @PathVariable long itemId) {
+        return itemClient.delete(userId, itemId);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ItemDto> get(@RequestHeader(USER_HEADER) long userId,
+                             @Positive @PathVariable long itemId) {
+        return itemClient.get(itemId, userId);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ItemDto> patchItem(@RequestHeader(USER_HEADER) long userId,
+                                   @Positive @PathVariable long itemId,
+                                   @Validated(Update.class) @RequestBody NewItemDto itemDto) {
+        return itemClient.patch(userId, itemDto, itemId);
+    }
+
+    @GetMapping("/search")
+    public Flux<ItemDto> search(@RequestParam String text,
+                                @RequestHeader(USER_HEADER) long userId,
+                                @RequestParam(defaultValue = MIN_SIZE) @PositiveOrZero int from,
+                                @RequestParam(defaultValue = MAX_SIZE) @Positive int size) {
+        if (text.isBlank()) {
+            return Flux.empty();
+        }
+        return itemClient.search(userId, text, from, size);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<CommentDto> addCommentToItem(@RequestHeader(USER_HEADER) Long userId,
+                                             @PathVariable Long itemId,
+                                             @Valid @RequestBody NewCommentDto commentDto) {
+        return itemClient.addCommentToItem(userId, itemId, commentDto);
+    }
+}
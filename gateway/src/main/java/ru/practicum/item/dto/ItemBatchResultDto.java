@@ -0,0 +1,16 @@
+package ru.practicum.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one entry of a bulk item creation, either the created item or the reason it was rejected.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemBatchResultDto {
+    private ItemDto item;
+    private String error;
+}
@@ -0,0 +1,48 @@
+package ru.practicum.request.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.httpClient.ReactiveBaseHttpClient;
+import ru.practicum.request.dto.ItemRequestDto;
+import ru.practicum.request.dto.NewItemRequestDto;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemRequestClient extends ReactiveBaseHttpClient {
+
+    private static final String API_PREFIX = "/requests";
+
+    public ReactiveItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .build()
+        );
+    }
+
+    public Mono<ItemRequestDto> create(Long userId, NewItemRequestDto addItemRequestDto) {
+        return post("", userId, addItemRequestDto, ItemRequestDto.class);
+    }
+
+    public Flux<ItemRequestDto> getUserItemRequests(Long userId) {
+        return getFlux("", userId, null, ItemRequestDto.class);
+    }
+
+    public Flux<ItemRequestDto> getAvailableItemRequests(Long userId, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return getFlux("/all?from={from}&size={size}", userId, parameters, ItemRequestDto.class);
+    }
+
+    public Mono<ItemRequestDto> get(Long userId, Long requestId) {
+        return get("/" + requestId, userId, ItemRequestDto.class);
+    }
+}
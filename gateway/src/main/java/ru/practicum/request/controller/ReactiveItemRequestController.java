@@ -0,0 +1,55 @@
+package ru.practicum.request.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.request.client.ReactiveItemRequestClient;
+import ru.practicum.request.dto.ItemRequestDto;
+import ru.practicum.request.dto.NewItemRequestDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+import static ru.practicum.common.model.Constants.*;
+
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+@Validated
+public class ReactiveItemRequestController {
+
+    private final ReactiveItemRequestClient itemRequestClient;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ItemRequestDto> create(@RequestHeader(USER_HEADER) Long userId,
+                                       @RequestBody @Valid NewItemRequestDto requestDto) {
+        return itemRequestClient.create(userId, requestDto);
+    }
+
+    @GetMapping
+    public Flux<ItemRequestDto> getUserItemRequests(@RequestHeader(USER_HEADER) Long userId) {
+        return itemRequestClient.getUserItemRequests(userId);
+    }
+
+    @GetMapping("/all")
+    public Flux<ItemRequestDto> getAvailableItemRequests(
+            @RequestHeader(USER_HEADER) Long userId,
+            @RequestParam(defaultValue = MIN_SIZE) @PositiveOrZero int from,
+            @RequestParam(defaultValue = MAX_SIZE) @Positive int size) {
+        return itemRequestClient.getAvailableItemRequests(userId, from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ItemRequestDto> get(@RequestHeader(USER_HEADER) Long userId,
+                                    @PathVariable Long requestId) {
+        return itemRequestClient.get(userId, requestId);
+    }
+}
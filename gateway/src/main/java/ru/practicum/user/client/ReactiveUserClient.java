@@ -0,0 +1,72 @@
+package ru.practicum.user.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.httpClient.ReactiveBaseHttpClient;
+import ru.practicum.user.dto.UserDto;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserClient extends ReactiveBaseHttpClient {
+
+    private static final String API_PREFIX = "/users";
+
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .build()
+        );
+    }
+
+    public Mono<UserDto> save(UserDto userDto) {
+        return post("", userDto, UserDto.class);
+    }
+
+    public Mono<UserDto> patch(long userId, UserDto userDto) {
+        return patch("/" + userId, userDto, UserDto.class);
+    }
+
+    public Mono<UserDto> get(long userId) {
+        return get("/" + userId, UserDto.class);
+    }
+
+    public Mono<ResponseEntity<List<UserDto>>> getUsers(int from, int size, @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "from", from,
+                "size", size
+        ));
+        String query = "?from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            query += "&cursor={cursor}";
+        }
+        return getPage(query, null, parameters, UserDto.class);
+    }
+
+    /**
+     * Relays the full user listing from the server chunk by chunk, without decoding it in the gateway.
+     */
+    public Flux<DataBuffer> copyAllUsers(MediaType mediaType) {
+        return webClient.get()
+                .accept(mediaType)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+    }
+
+    public Mono<Void> delete(long userId) {
+        return delete("/" + userId);
+    }
+}
@@ -1,16 +1,25 @@
 package ru.practicum.user.client;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.httpClient.BaseHttpClient;
 import ru.practicum.user.dto.UserDto;
 
+import java.io.OutputStream;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserClient extends BaseHttpClient {
 
     private static final String API_PREFIX = "/users";
@@ -19,7 +28,6 @@ public class UserClient extends BaseHttpClient {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
                         .build()
         );
     }
@@ -36,8 +44,27 @@ public class UserClient extends BaseHttpClient {
         return get("/" + userId, UserDto.class);
     }
 
-    public List<UserDto> getAllUsers() {
-        return get("", List.class);
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ResponseEntity<List<UserDto>> getUsers(int from, int size, @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "from", from,
+                "size", size
+        ));
+        String query = "?from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            query += "&cursor={cursor}";
+        }
+        return (ResponseEntity) getPage(query, null, parameters, List.class);
+    }
+
+    /**
+     * Copies the full user listing from the server as it arrives, without materializing it in the gateway.
+     */
+    public void copyAllUsers(MediaType mediaType, OutputStream outputStream) {
+        rest.execute("", HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(mediaType)),
+                response -> StreamUtils.copy(response.getBody(), outputStream));
     }
 
     public void delete(long userId) {
@@ -0,0 +1,77 @@
+package ru.practicum.user.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.user.client.ReactiveUserClient;
+import ru.practicum.user.dto.Create;
+import ru.practicum.user.dto.Update;
+import ru.practicum.user.dto.UserDto;
+
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static ru.practicum.common.model.Constants.MIN_SIZE;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@RequestMapping("/users")
+@Validated
+public class ReactiveUserController {
+    private final ReactiveUserClient userClient;
+
+    @GetMapping("/{userId}")
+    public Mono<UserDto> getUser(@Positive @PathVariable Long userId) {
+        return userClient.get(userId);
+    }
+
+    @DeleteMapping("/{userId}")
+    @ResponseStatus(value = HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteUser(@Positive @PathVariable long userId) {
+        return userClient.delete(userId);
+    }
+
+    @GetMapping(params = "size")
+    public Mono<ResponseEntity<List<UserDto>>> getUsers(@RequestParam(defaultValue = MIN_SIZE) @PositiveOrZero int from,
+                                                        @RequestParam @Positive int size,
+                                                        @RequestParam(required = false) @Size(max = 200) String cursor) {
+        return userClient.getUsers(from, size, cursor);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Flux<DataBuffer>> getAllUsers() {
+        return copyAllUsers(MediaType.APPLICATION_JSON);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<DataBuffer>> streamAllUsers() {
+        return copyAllUsers(MediaType.APPLICATION_NDJSON);
+    }
+
+    @PostMapping
+    public Mono<UserDto> createUser(@Validated(Create.class) @RequestBody UserDto user) {
+        return userClient.save(user);
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<UserDto> patchUser(@Validated(Update.class) @RequestBody UserDto user,
+                                   @PathVariable long userId) {
+        return userClient.patch(userId, user);
+    }
+
+    private ResponseEntity<Flux<DataBuffer>> copyAllUsers(MediaType mediaType) {
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .body(userClient.copyAllUsers(mediaType));
+    }
+}
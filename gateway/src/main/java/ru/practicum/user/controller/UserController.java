@@ -1,18 +1,27 @@
 package ru.practicum.user.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.user.client.UserClient;
 import ru.practicum.user.dto.Create;
 import ru.practicum.user.dto.Update;
 import ru.practicum.user.dto.UserDto;
 
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 import java.util.List;
 
+import static ru.practicum.common.model.Constants.MIN_SIZE;
+
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @RequestMapping("/users")
 @Validated
@@ -30,9 +39,21 @@ public class UserController {
         userClient.delete(userId);
     }
 
-    @GetMapping
-    public List<UserDto> getAllUsers() {
-        return userClient.getAllUsers();
+    @GetMapping(params = "size")
+    public ResponseEntity<List<UserDto>> getUsers(@RequestParam(defaultValue = MIN_SIZE) @PositiveOrZero int from,
+                                                  @RequestParam @Positive int size,
+                                                  @RequestParam(required = false) @Size(max = 200) String cursor) {
+        return userClient.getUsers(from, size, cursor);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllUsers() {
+        return copyAllUsers(MediaType.APPLICATION_JSON);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        return copyAllUsers(MediaType.APPLICATION_NDJSON);
     }
 
     @PostMapping
@@ -45,4 +66,10 @@ public class UserController {
                              @PathVariable long userId) {
         return userClient.patch(userId, user);
     }
+
+    private ResponseEntity<StreamingResponseBody> copyAllUsers(MediaType mediaType) {
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .body(outputStream -> userClient.copyAllUsers(mediaType, outputStream));
+    }
 }
\ No newline at end of file
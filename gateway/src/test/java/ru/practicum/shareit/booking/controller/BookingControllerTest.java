@@ -7,11 +7,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import ru.practicum.booking.client.BookingClient;
 import ru.practicum.booking.controller.BookingController;
+import ru.practicum.booking.dto.BookingDecisionDto;
+import ru.practicum.booking.dto.BookingDecisionResultDto;
 import ru.practicum.booking.dto.BookingDto;
 import ru.practicum.booking.dto.BookingState;
 import ru.practicum.booking.dto.NewBookingDto;
@@ -26,6 +29,7 @@ import static org.mockito.Mockito.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static ru.practicum.common.model.Constants.NEXT_CURSOR_HEADER;
 import static ru.practicum.common.model.Constants.USER_HEADER;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -105,6 +109,43 @@ class BookingControllerTest {
 
     }
 
+    @Test
+    @SneakyThrows
+    void updateBookings() {
+        List<BookingDecisionDto> decisions = List.of(
+                new BookingDecisionDto(2L, true),
+                new BookingDecisionDto(3L, false));
+        when(bookingClient.patchAll(userId, decisions))
+                .thenReturn(List.of(
+                        new BookingDecisionResultDto(2L, bookingDto, null),
+                        new BookingDecisionResultDto(3L, null, "Booking is not found")));
+
+        mvc.perform(patch("/bookings/batch")
+                        .header(USER_HEADER, userId)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(decisions)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].bookingId", is(2)))
+                .andExpect(jsonPath("$[1].error", is("Booking is not found")));
+
+        verify(bookingClient, times(1)).patchAll(userId, decisions);
+    }
+
+    @Test
+    @SneakyThrows
+    void updateBookingsNotValidDecision() {
+        mvc.perform(patch("/bookings/batch")
+                        .header(USER_HEADER, userId)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new BookingDecisionDto(2L, null)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertInstanceOf(ConstraintViolationException.class, result.getResolvedException()))
+                .andExpect(jsonPath("$.errors.[0]", is("patchAll.decisions[0].approved: approved can not be null")));
+
+        verify(bookingClient, never()).patchAll(anyLong(), any());
+    }
+
     @Test
     @SneakyThrows
     void updateBooking() {
@@ -174,8 +215,8 @@ class BookingControllerTest {
         BookingState state = BookingState.FUTURE;
         int from = 0;
         int size = 50;
-        when(bookingClient.findAll(userId, state, from, size))
-                .thenReturn(List.of(bookingDto));
+        when(bookingClient.findAll(userId, state, from, size, null))
+                .thenReturn(ResponseEntity.ok(List.of(bookingDto)));
 
         mvc.perform(get("/bookings")
                         .header(USER_HEADER, userId)
@@ -193,7 +234,7 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.[0].start", is(bookingDto.getStart())))
                 .andExpect(jsonPath("$.[0].end", is(bookingDto.getEnd())));
 
-        verify(bookingClient, times(1)).findAll(userId, state, from, size);
+        verify(bookingClient, times(1)).findAll(userId, state, from, size, null);
     }
 
     @Test
@@ -220,8 +261,8 @@ class BookingControllerTest {
         BookingState state = BookingState.FUTURE;
         int from = 1;
         int size = 5;
-        when(bookingClient.getAllOwnerBookings(userId, state, from, size))
-                .thenReturn(List.of(bookingDto));
+        when(bookingClient.getAllOwnerBookings(userId, state, from, size, null))
+                .thenReturn(ResponseEntity.ok(List.of(bookingDto)));
 
         mvc.perform(get("/bookings/owner")
                         .header(USER_HEADER, userId)
@@ -239,6 +280,27 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.[0].start", is(bookingDto.getStart())))
                 .andExpect(jsonPath("$.[0].end", is(bookingDto.getEnd())));
 
-        verify(bookingClient, times(1)).getAllOwnerBookings(userId, state, from, size);
+        verify(bookingClient, times(1)).getAllOwnerBookings(userId, state, from, size, null);
+    }
+
+    @Test
+    @SneakyThrows
+    void findAllOwnerBookingsPassesCursor() {
+        String cursor = "MjAzMC0wMS0wMVQxMjowMHw3";
+        String nextCursor = "MjAzMC0wMS0wMVQxMTowMHw1";
+        when(bookingClient.getAllOwnerBookings(userId, BookingState.ALL, 0, 1, cursor))
+                .thenReturn(ResponseEntity.ok()
+                        .header(NEXT_CURSOR_HEADER, nextCursor)
+                        .body(List.of(bookingDto)));
+
+        mvc.perform(get("/bookings/owner")
+                        .header(USER_HEADER, userId)
+                        .param("size", "1")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, nextCursor))
+                .andExpect(jsonPath("$.length()", is(1)));
+
+        verify(bookingClient, times(1)).getAllOwnerBookings(userId, BookingState.ALL, 0, 1, cursor);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.booking.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.booking.client.ReactiveBookingClient;
+import ru.practicum.booking.controller.ReactiveBookingController;
+import ru.practicum.booking.dto.BookingDecisionDto;
+import ru.practicum.booking.dto.BookingDecisionResultDto;
+import ru.practicum.booking.dto.BookingDto;
+import ru.practicum.booking.dto.BookingState;
+import ru.practicum.booking.dto.NewBookingDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static ru.practicum.common.model.Constants.NEXT_CURSOR_HEADER;
+import static ru.practicum.common.model.Constants.USER_HEADER;
+
+@WebFluxTest(controllers = ReactiveBookingController.class)
+class ReactiveBookingControllerTest {
+
+    private static final long userId = 1;
+    @MockBean
+    private ReactiveBookingClient bookingClient;
+    @Autowired
+    private WebTestClient webClient;
+
+    @Test
+    void createBooking() {
+        NewBookingDto newBookingDto = NewBookingDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(3))
+                .build();
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setId(1L);
+        when(bookingClient.create(eq(userId), any()))
+                .thenReturn(Mono.just(bookingDto));
+
+        webClient.post()
+                .uri("/bookings")
+                .header(USER_HEADER, String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(newBookingDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1);
+
+        verify(bookingClient, times(1)).create(eq(userId), any());
+    }
+
+    @Test
+    void updateBookings() {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(2L, true));
+        when(bookingClient.patchAll(userId, decisions))
+                .thenReturn(Flux.just(new BookingDecisionResultDto(2L, null, "Item is already reserved")));
+
+        webClient.patch()
+                .uri("/bookings/batch")
+                .header(USER_HEADER, String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(decisions)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].bookingId").isEqualTo(2)
+                .jsonPath("$[0].error").isEqualTo("Item is already reserved");
+
+        verify(bookingClient, times(1)).patchAll(userId, decisions);
+    }
+
+    @Test
+    void updateBookingsEmptyBatch() {
+        webClient.patch()
+                .uri("/bookings/batch")
+                .header(USER_HEADER, String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(bookingClient, never()).patchAll(anyLong(), any());
+    }
+
+    @Test
+    void createBookingWithoutUser() {
+        webClient.post()
+                .uri("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(NewBookingDto.builder().itemId(1L).build())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(bookingClient, never()).create(anyLong(), any());
+    }
+
+    @Test
+    void findAllWithCursor() {
+        when(bookingClient.findAll(userId, BookingState.ALL, 0, 10, "abc"))
+                .thenReturn(Mono.just(ResponseEntity.ok()
+                        .header(NEXT_CURSOR_HEADER, "next")
+                        .body(List.of(new BookingDto()))));
+
+        webClient.get()
+                .uri("/bookings?size=10&cursor=abc")
+                .header(USER_HEADER, String.valueOf(userId))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(NEXT_CURSOR_HEADER, "next")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    void findAllWithUnknownState() {
+        webClient.get()
+                .uri("/bookings?state=UNSUPPORTED_STATUS")
+                .header(USER_HEADER, String.valueOf(userId))
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Unknown state: UNSUPPORTED_STATUS");
+
+        verify(bookingClient, never()).findAll(anyLong(), any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void findAllWithWrongSize() {
+        webClient.get()
+                .uri("/bookings?size=0")
+                .header(USER_HEADER, String.valueOf(userId))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(bookingClient, never()).findAll(anyLong(), any(), anyInt(), anyInt(), any());
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.httpClient;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.httpClient.HttpClientConfig;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+class HttpClientConfigTest {
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(RestTemplateAutoConfiguration.class))
+            .withUserConfiguration(HttpClientConfig.class);
+
+    @Test
+    void poolIsConfiguredFromProperties() {
+        contextRunner
+                .withPropertyValues(
+                        "shareit-server.http.max-connections=50",
+                        "shareit-server.http.max-connections-per-route=20",
+                        "shareit-server.http.validate-after-inactivity=500ms")
+                .run(context -> {
+                    PoolingHttpClientConnectionManager connectionManager =
+                            context.getBean(PoolingHttpClientConnectionManager.class);
+                    assertThat(connectionManager.getMaxTotal(), is(50));
+                    assertThat(connectionManager.getDefaultMaxPerRoute(), is(20));
+                    assertThat(connectionManager.getValidateAfterInactivity(), is(500));
+                });
+    }
+
+    @Test
+    void restTemplatesShareOneRequestFactory() {
+        contextRunner.run(context -> {
+            RestTemplateBuilder builder = context.getBean(RestTemplateBuilder.class);
+            RestTemplate first = builder.rootUri("http://localhost:9090/items").build();
+            RestTemplate second = builder.rootUri("http://localhost:9090/users").build();
+            assertThat(first.getRequestFactory(), instanceOf(HttpComponentsClientHttpRequestFactory.class));
+            assertThat(first.getRequestFactory() == second.getRequestFactory(), is(true));
+        });
+    }
+
+    @Test
+    void poolStatsAreExposedAsGauges() {
+        contextRunner
+                .withPropertyValues("shareit-server.http.max-connections=30")
+                .run(context -> {
+                    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+                    context.getBean(MeterBinder.class).bindTo(registry);
+                    assertThat(registry.get("shareit.server.connections.max").gauge().value(), is(30.0));
+                    assertThat(registry.get("shareit.server.connections.leased").gauge().value(), is(0.0));
+                    assertThat(registry.get("shareit.server.connections.available").gauge().value(), is(0.0));
+                    assertThat(registry.get("shareit.server.connections.pending").gauge().value(), is(0.0));
+                });
+    }
+
+    @Test
+    void busyConnectionIsReusedPastIdleTimeout() throws Exception {
+        Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            contextRunner
+                    .withPropertyValues("shareit-server.http.idle-timeout=500ms")
+                    .run(context -> {
+                        RestTemplate restTemplate = context.getBean(RestTemplateBuilder.class)
+                                .rootUri("http://localhost:" + server.getAddress().getPort())
+                                .build();
+                        for (int i = 0; i < 8; i++) {
+                            restTemplate.getForEntity("/users", String.class);
+                            Thread.sleep(150);
+                        }
+                    });
+        } finally {
+            server.stop(0);
+        }
+        assertThat(clientPorts, hasSize(1));
+    }
+}
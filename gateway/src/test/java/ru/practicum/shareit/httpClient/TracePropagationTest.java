@@ -0,0 +1,79 @@
+package ru.practicum.shareit.httpClient;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.user.client.UserClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Requests sent to the server through BaseHttpClient carry the trace context of the gateway request.
+ */
+@SpringBootTest
+class TracePropagationTest {
+    private static final AtomicReference<Headers> receivedHeaders = new AtomicReference<>();
+
+    private static HttpServer server;
+
+    @Autowired
+    private UserClient userClient;
+
+    @Autowired
+    private Tracer tracer;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            receivedHeaders.set(exchange.getRequestHeaders());
+            byte[] body = "{\"id\":1,\"name\":\"user\",\"email\":\"user@mail.com\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.start();
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        server.stop(0);
+    }
+
+    @Test
+    void traceContextIsSentToServer() {
+        Span span = tracer.nextSpan().name("GET /users/{userId}").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            userClient.get(1L);
+        } finally {
+            span.end();
+        }
+
+        Headers headers = receivedHeaders.get();
+        String traceId = span.context().traceId();
+        assertThat(headers.getFirst("traceparent"), containsString(traceId));
+        assertThat(headers.getFirst("X-B3-TraceId"), is(traceId));
+        // the server continues from the span of the exchange, not from the span of the gateway request
+        assertThat(headers.getFirst("X-B3-ParentSpanId"), is(span.context().spanId()));
+        assertThat(headers.getFirst("X-B3-SpanId"), is(not(span.context().spanId())));
+    }
+}
@@ -12,11 +12,13 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import ru.practicum.item.client.ItemClient;
 import ru.practicum.item.controller.ItemController;
 import ru.practicum.item.dto.CommentDto;
+import ru.practicum.item.dto.ItemBatchResultDto;
 import ru.practicum.item.dto.ItemDto;
 import ru.practicum.item.dto.NewCommentDto;
 import ru.practicum.item.dto.NewItemDto;
 
 import javax.validation.ConstraintViolationException;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
@@ -69,6 +71,63 @@ class ItemControllerTest {
         verify(itemClient, times(1)).add(userId, newItemDto);
     }
 
+    @Test
+    @SneakyThrows
+    void addNewItems() {
+        List<ItemBatchResultDto> results = List.of(
+                new ItemBatchResultDto(itemDto, null),
+                new ItemBatchResultDto(null, "item request is not found"));
+        when(itemClient.addAll(userId, List.of(newItemDto, newItemDto)))
+                .thenReturn(results);
+
+        mvc.perform(post("/items/batch")
+                        .header(USER_HEADER, userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(newItemDto, newItemDto))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].item.id", is(itemDto.getId().intValue())))
+                .andExpect(jsonPath("$[1].error", is("item request is not found")));
+
+        verify(itemClient, times(1)).addAll(userId, List.of(newItemDto, newItemDto));
+    }
+
+    @Test
+    @SneakyThrows
+    void addNewItemsNotValidItem() {
+        NewItemDto notValid = newItemDto.toBuilder()
+                .name(" ")
+                .build();
+
+        mvc.perform(post("/items/batch")
+                        .header(USER_HEADER, userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(newItemDto, notValid))))
+                .andExpect(status().isBadRequest())
+                .andExpect(result ->
+                        assertInstanceOf(ConstraintViolationException.class, result.getResolvedException()));
+
+        verify(itemClient, never()).addAll(anyLong(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void addNewItemsTooManyItems() {
+        mvc.perform(post("/items/batch")
+                        .header(USER_HEADER, userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Collections.nCopies(501, newItemDto))))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(post("/items/batch")
+                        .header(USER_HEADER, userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).addAll(anyLong(), any());
+    }
+
     @Test
     @SneakyThrows
     void patchItem() {
@@ -0,0 +1,153 @@
+package ru.practicum.shareit.user.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.user.client.ReactiveUserClient;
+import ru.practicum.user.controller.ReactiveUserController;
+import ru.practicum.user.dto.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static ru.practicum.common.model.Constants.NEXT_CURSOR_HEADER;
+
+@WebFluxTest(controllers = ReactiveUserController.class)
+class ReactiveUserControllerTest {
+
+    @MockBean
+    private ReactiveUserClient userClient;
+
+    @Autowired
+    private WebTestClient webClient;
+
+    private UserDto userDto;
+
+    @BeforeEach
+    void beforeEach() {
+        userDto = UserDto.builder()
+                .id(1L)
+                .name("name")
+                .email("test@mail.com")
+                .build();
+    }
+
+    @Test
+    void addUser() {
+        when(userClient.save(userDto))
+                .thenReturn(Mono.just(userDto));
+
+        webClient.post()
+                .uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo(userDto.getName())
+                .jsonPath("$.email").isEqualTo(userDto.getEmail());
+
+        verify(userClient, times(1)).save(userDto);
+    }
+
+    @Test
+    void addUserNotValidUser() {
+        userDto.setEmail("xxx");
+
+        webClient.post()
+                .uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userDto)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors.[0]").isEqualTo("email should be valid");
+
+        verify(userClient, never()).save(any());
+    }
+
+    @Test
+    void getUserPassesServerError() {
+        when(userClient.get(99L))
+                .thenReturn(Mono.error(WebClientResponseException.create(HttpStatus.NOT_FOUND.value(), "Not Found",
+                        null, "{\"errors\":[\"user is not found\"]}".getBytes(StandardCharsets.UTF_8),
+                        StandardCharsets.UTF_8)));
+
+        webClient.get()
+                .uri("/users/{userId}", 99)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errors.[0]").isEqualTo("user is not found");
+    }
+
+    @Test
+    void getUserWithWrongId() {
+        webClient.get()
+                .uri("/users/{userId}", 0)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userClient, never()).get(anyLong());
+    }
+
+    @Test
+    void getUsersPage() {
+        String cursor = "Nw";
+        when(userClient.getUsers(0, 1, cursor))
+                .thenReturn(Mono.just(ResponseEntity.ok()
+                        .header(NEXT_CURSOR_HEADER, "OA")
+                        .body(List.of(userDto))));
+
+        webClient.get()
+                .uri("/users?size=1&cursor={cursor}", cursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(NEXT_CURSOR_HEADER, "OA")
+                .expectBody()
+                .jsonPath("$.[0].email").isEqualTo(userDto.getEmail());
+
+        verify(userClient, times(1)).getUsers(0, 1, cursor);
+    }
+
+    @Test
+    void streamAllUsers() {
+        String body = "{\"id\":1}\n{\"id\":2}\n";
+        when(userClient.copyAllUsers(MediaType.APPLICATION_NDJSON))
+                .thenReturn(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body.getBytes(StandardCharsets.UTF_8))));
+
+        webClient.get()
+                .uri("/users")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).isEqualTo(body);
+
+        verify(userClient, times(1)).copyAllUsers(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Test
+    void deleteUserById() {
+        when(userClient.delete(userDto.getId()))
+                .thenReturn(Mono.empty());
+
+        webClient.delete()
+                .uri("/users/{userId}", userDto.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(userClient, times(1)).delete(userDto.getId());
+    }
+}
@@ -8,13 +8,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import ru.practicum.user.client.UserClient;
 import ru.practicum.user.controller.UserController;
 import ru.practicum.user.dto.UserDto;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
@@ -22,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static ru.practicum.common.model.Constants.NEXT_CURSOR_HEADER;
 
 @WebMvcTest(controllers = UserController.class)
 class UserControllerTest {
@@ -145,17 +150,67 @@ class UserControllerTest {
     @Test
     @SneakyThrows
     void getAllUsers() {
-        when(userClient.getAllUsers())
-                .thenReturn(List.of(userDto));
+        String body = objectMapper.writeValueAsString(List.of(userDto));
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(body.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userClient).copyAllUsers(eq(MediaType.APPLICATION_JSON), any());
 
-        mvc.perform(get("/users")
+        MvcResult result = mvc.perform(get("/users")
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(content().string(objectMapper.writeValueAsString(List.of(userDto))))
+                .andExpect(content().string(body))
                 .andExpect(jsonPath("$.[0].email", is(userDto.getEmail())))
                 .andExpect(jsonPath("$.length()", is(1)));
 
-        verify(userClient, times(1)).getAllUsers();
+        verify(userClient, times(1)).copyAllUsers(eq(MediaType.APPLICATION_JSON), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void streamAllUsers() {
+        MvcResult result = mvc.perform(get("/users")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+        verify(userClient, times(1)).copyAllUsers(eq(MediaType.APPLICATION_NDJSON), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void getUsersPage() {
+        String cursor = "Nw";
+        when(userClient.getUsers(0, 1, cursor))
+                .thenReturn(ResponseEntity.ok()
+                        .header(NEXT_CURSOR_HEADER, "OA")
+                        .body(List.of(userDto)));
+
+        mvc.perform(get("/users")
+                        .param("size", "1")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, "OA"))
+                .andExpect(jsonPath("$.[0].email", is(userDto.getEmail())));
+
+        verify(userClient, times(1)).getUsers(0, 1, cursor);
+    }
+
+    @Test
+    @SneakyThrows
+    void getUsersPageWithWrongSize() {
+        mvc.perform(get("/users")
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(userClient, never()).getUsers(anyInt(), anyInt(), any());
     }
 
     @Test
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Users and items created by the {@link Seeder}, shared by the seeding and the measured traffic.
+ */
+final class Dataset {
+    static final List<String> WORDS = List.of("drill", "ladder", "tent", "bicycle", "camera",
+            "kayak", "projector", "saw", "guitar", "speaker", "stroller", "grill");
+
+    final List<Long> users = new ArrayList<>();
+    final List<Item> items = new ArrayList<>();
+
+    // every booking gets its own two hour slot, so bookings never overlap and are never rejected as conflicts
+    private final AtomicLong bookingSlots = new AtomicLong();
+    private final LocalDateTime origin = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+    long randomUser(Random random) {
+        return users.get(random.nextInt(users.size()));
+    }
+
+    Item randomItem(Random random) {
+        return items.get(random.nextInt(items.size()));
+    }
+
+    long randomBooker(Random random, Item item) {
+        long booker;
+        do {
+            booker = randomUser(random);
+        } while (booker == item.ownerId);
+        return booker;
+    }
+
+    Map<String, Object> newBooking(Item item) {
+        LocalDateTime start = origin.plusHours(2 * bookingSlots.getAndIncrement());
+        return Map.of("itemId", item.id,
+                "start", start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                "end", start.plusHours(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+    }
+
+    static final class Item {
+        final long id;
+        final long ownerId;
+
+        Item(long id, long ownerId) {
+            this.id = id;
+            this.ownerId = ownerId;
+        }
+    }
+}
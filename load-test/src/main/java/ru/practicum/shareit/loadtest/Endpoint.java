@@ -0,0 +1,25 @@
+package ru.practicum.shareit.loadtest;
+
+/**
+ * Gateway endpoints driven by the load test with their default share of the traffic. Approvals are not drawn
+ * from the mix, every booking created during the run is approved by the item owner right after.
+ */
+enum Endpoint {
+    SEARCH("GET /items/search", 30),
+    ITEMS("GET /items", 10),
+    ITEM("GET /items/{id}", 20),
+    BOOKING_CREATE("POST /bookings", 10),
+    BOOKING_APPROVE("PATCH /bookings/{id}", 0),
+    BOOKER_BOOKINGS("GET /bookings", 10),
+    OWNER_BOOKINGS("GET /bookings/owner", 10),
+    OWN_REQUESTS("GET /requests", 5),
+    REQUEST_FEED("GET /requests/all", 5);
+
+    final String title;
+    final int weight;
+
+    Endpoint(String title, int weight) {
+        this.title = title;
+        this.weight = weight;
+    }
+}
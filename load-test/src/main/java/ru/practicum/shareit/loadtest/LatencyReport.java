@@ -0,0 +1,98 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency distribution and error count per endpoint. Latencies are kept in microseconds with three significant
+ * digits, the tail percentiles stay exact enough without storing every sample.
+ */
+final class LatencyReport {
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+
+    private final LoadTestSettings settings;
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+    LatencyReport(LoadTestSettings settings) {
+        this.settings = settings;
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    void record(Endpoint endpoint, long latencyNanos, boolean successful) {
+        if (successful) {
+            latencies.get(endpoint).recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        } else {
+            errors.get(endpoint).increment();
+        }
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-22s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            long requests = histogram.getTotalCount() + errors.get(endpoint).sum();
+            if (requests == 0) {
+                continue;
+            }
+            out.printf("%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.title, requests, errors.get(endpoint).sum(), throughput(requests),
+                    millis(histogram.getValueAtPercentile(PERCENTILES[0])),
+                    millis(histogram.getValueAtPercentile(PERCENTILES[1])),
+                    millis(histogram.getValueAtPercentile(PERCENTILES[2])),
+                    millis(histogram.getMaxValue()));
+        }
+    }
+
+    void write(Path file) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        ObjectNode root = objectMapper.createObjectNode()
+                .put("rate", settings.rate)
+                .put("duration", settings.duration.toString())
+                .put("users", settings.users)
+                .put("itemsPerUser", settings.itemsPerUser)
+                .put("requests", settings.requests)
+                .put("bookings", settings.bookings);
+        ObjectNode endpoints = root.putObject("endpoints");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            long requests = histogram.getTotalCount() + errors.get(endpoint).sum();
+            if (requests == 0) {
+                continue;
+            }
+            endpoints.putObject(endpoint.title)
+                    .put("requests", requests)
+                    .put("errors", errors.get(endpoint).sum())
+                    .put("throughput", throughput(requests))
+                    .put("p50", millis(histogram.getValueAtPercentile(PERCENTILES[0])))
+                    .put("p99", millis(histogram.getValueAtPercentile(PERCENTILES[1])))
+                    .put("p999", millis(histogram.getValueAtPercentile(PERCENTILES[2])))
+                    .put("max", millis(histogram.getMaxValue()));
+        }
+        objectMapper.writeValue(file.toFile(), root);
+        System.out.println("results written to " + file);
+    }
+
+    private double throughput(long requests) {
+        return requests * 1000.0 / settings.duration.toMillis();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Open-loop traffic: requests are sent at a fixed arrival rate, whether or not earlier responses came back,
+ * like independent clients do. Latency is measured from the time a request was due instead of the time it was
+ * sent, so a stalled generator or a saturated client shows up in the percentiles rather than hiding behind a lower
+ * request rate. Requests due during the warmup are sent but not recorded.
+ */
+final class LoadGenerator {
+    private static final List<String> STATES = List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED");
+    private static final String PAGE = "from=0&size=20";
+    private static final long DRAIN_TIMEOUT = TimeUnit.SECONDS.toNanos(30);
+
+    private final ShareItClient client;
+    private final Dataset dataset;
+    private final LoadTestSettings settings;
+    private final LatencyReport report;
+    private final Random random = new Random(7);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    LoadGenerator(ShareItClient client, Dataset dataset, LoadTestSettings settings) {
+        this.client = client;
+        this.dataset = dataset;
+        this.settings = settings;
+        this.report = new LatencyReport(settings);
+        this.endpoints = settings.mix.keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += settings.mix.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    LatencyReport run() throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / settings.rate;
+        long start = System.nanoTime();
+        long measuredFrom = start + settings.warmup.toNanos();
+        long end = measuredFrom + settings.duration.toNanos();
+        System.out.printf("sending %d requests per second, %s warmup and %s measured%n",
+                settings.rate, settings.warmup, settings.duration);
+        for (long due = start; due < end; due += interval) {
+            long delay = due - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            fire(nextEndpoint(), due, due >= measuredFrom);
+        }
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return report;
+    }
+
+    private Endpoint nextEndpoint() {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("weight " + value + " is out of range");
+    }
+
+    private void fire(Endpoint endpoint, long due, boolean measured) {
+        long user = dataset.randomUser(random);
+        Dataset.Item item = dataset.randomItem(random);
+        switch (endpoint) {
+            case SEARCH:
+                String word = Dataset.WORDS.get(random.nextInt(Dataset.WORDS.size()));
+                send(endpoint, client.get(user, "/items/search?text=" + word + "&" + PAGE), due, measured, null);
+                break;
+            case ITEMS:
+                send(endpoint, client.get(item.ownerId, "/items?" + PAGE), due, measured, null);
+                break;
+            case ITEM:
+                send(endpoint, client.get(user, "/items/" + item.id), due, measured, null);
+                break;
+            case BOOKING_CREATE:
+                Map<String, Object> booking = dataset.newBooking(item);
+                send(endpoint, client.post(dataset.randomBooker(random, item), "/bookings", booking), due, measured,
+                        body -> send(Endpoint.BOOKING_APPROVE,
+                                client.patch(item.ownerId, "/bookings/" + client.read(body).get("id").asLong()
+                                        + "?approved=true"),
+                                System.nanoTime(), measured, null));
+                break;
+            case BOOKER_BOOKINGS:
+                send(endpoint, client.get(user, "/bookings?state=" + randomState() + "&" + PAGE),
+                        due, measured, null);
+                break;
+            case OWNER_BOOKINGS:
+                send(endpoint, client.get(item.ownerId, "/bookings/owner?state=" + randomState() + "&" + PAGE),
+                        due, measured, null);
+                break;
+            case OWN_REQUESTS:
+                send(endpoint, client.get(user, "/requests"), due, measured, null);
+                break;
+            case REQUEST_FEED:
+                send(endpoint, client.get(user, "/requests/all?" + PAGE), due, measured, null);
+                break;
+            default:
+                throw new IllegalArgumentException(endpoint + " can not be sent on its own");
+        }
+    }
+
+    private String randomState() {
+        return STATES.get(random.nextInt(STATES.size()));
+    }
+
+    private void send(Endpoint endpoint, HttpRequest request, long due, boolean measured, Consumer<String> then) {
+        inFlight.incrementAndGet();
+        client.sendAsync(request).whenComplete((response, error) -> {
+            try {
+                long latency = System.nanoTime() - due;
+                boolean successful = error == null && ShareItClient.isSuccessful(response);
+                if (measured) {
+                    report.record(endpoint, latency, successful);
+                }
+                if (successful && then != null) {
+                    then.accept(response.body());
+                }
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+}
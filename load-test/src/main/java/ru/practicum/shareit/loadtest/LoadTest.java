@@ -0,0 +1,22 @@
+package ru.practicum.shareit.loadtest;
+
+/**
+ * Starts the server and the gateway, seeds them and drives a mixed workload through the gateway, then reports
+ * p50, p99 and p99.9 latency and throughput per endpoint. See {@link LoadTestSettings} for the options.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        try (ShareItApplications applications = ShareItApplications.start(settings)) {
+            ShareItClient client = new ShareItClient(applications.getGatewayUri());
+            Dataset dataset = new Seeder(client, settings).seed();
+            LatencyReport report = new LoadGenerator(client, dataset, settings).run();
+            report.print(System.out);
+            report.write(settings.result);
+        }
+    }
+}
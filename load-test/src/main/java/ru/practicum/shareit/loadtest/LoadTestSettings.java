@@ -0,0 +1,92 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options of a load test run, passed as {@code --name=value} arguments. The traffic mix is given as relative
+ * weights, e.g. {@code --mix=SEARCH:50,ITEM:30}, endpoints that are not listed keep their default weight.
+ * Tracing is off unless {@code --trace=true} is given, then spans are written next to the application logs.
+ */
+final class LoadTestSettings {
+    final Path serverJar;
+    final Path gatewayJar;
+    final Path logs;
+    final Path result;
+    final int serverPort;
+    final int gatewayPort;
+    final int users;
+    final int itemsPerUser;
+    final int requests;
+    final int bookings;
+    final int rate;
+    final Duration warmup;
+    final Duration duration;
+    final Map<Endpoint, Integer> mix;
+    final boolean trace;
+
+    private LoadTestSettings(Map<String, String> options) {
+        serverJar = Path.of(take(options, "server-jar", "shareit-server.jar"));
+        gatewayJar = Path.of(take(options, "gateway-jar", "shareit-gateway.jar"));
+        logs = Path.of(take(options, "logs", "."));
+        result = Path.of(take(options, "result", "load-test-result.json"));
+        serverPort = Integer.parseInt(take(options, "server-port", "19090"));
+        gatewayPort = Integer.parseInt(take(options, "gateway-port", "18080"));
+        users = Integer.parseInt(take(options, "users", "200"));
+        itemsPerUser = Integer.parseInt(take(options, "items-per-user", "10"));
+        requests = Integer.parseInt(take(options, "requests", "500"));
+        bookings = Integer.parseInt(take(options, "bookings", "2000"));
+        rate = Integer.parseInt(take(options, "rate", "100"));
+        warmup = Duration.parse(take(options, "warmup", "PT15S"));
+        duration = Duration.parse(take(options, "duration", "PT1M"));
+        mix = parseMix(take(options, "mix", ""));
+        trace = Boolean.parseBoolean(take(options, "trace", "false"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("unknown options " + options.keySet());
+        }
+        if (users < 2 || itemsPerUser < 1 || rate < 1) {
+            throw new IllegalArgumentException("at least two users, one item per user and a rate of one request "
+                    + "per second are required");
+        }
+    }
+
+    static LoadTestSettings parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("expected --name=value but was " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestSettings(options);
+    }
+
+    private static String take(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value == null ? defaultValue : value;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            mix.put(endpoint, endpoint.weight);
+        }
+        if (!value.isBlank()) {
+            for (String entry : value.split(",")) {
+                String[] parts = entry.trim().split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("expected ENDPOINT:weight but was " + entry);
+                }
+                mix.put(Endpoint.valueOf(parts[0]), Integer.parseInt(parts[1]));
+            }
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("the traffic mix is empty");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Creates users, items, item requests and bookings through the gateway API before the measured run, so the data
+ * goes through the same validation and write paths as production traffic.
+ */
+final class Seeder {
+    private static final int BATCH_SIZE = 500;
+
+    private final ShareItClient client;
+    private final LoadTestSettings settings;
+    private final Random random = new Random(42);
+
+    Seeder(ShareItClient client, LoadTestSettings settings) {
+        this.client = client;
+        this.settings = settings;
+    }
+
+    Dataset seed() throws IOException, InterruptedException {
+        Dataset dataset = new Dataset();
+        long started = System.nanoTime();
+        for (int i = 0; i < settings.users; i++) {
+            JsonNode user = client.send(client.post(null, "/users",
+                    Map.of("name", "user" + i, "email", "user" + i + "@load.test")));
+            dataset.users.add(user.get("id").asLong());
+        }
+        for (long owner : dataset.users) {
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (int i = 0; i < settings.itemsPerUser; i++) {
+                String word = Dataset.WORDS.get(random.nextInt(Dataset.WORDS.size()));
+                items.add(Map.of("name", word + " " + i,
+                        "description", "a " + word + " of user " + owner,
+                        "available", true));
+            }
+            for (int from = 0; from < items.size(); from += BATCH_SIZE) {
+                List<Map<String, Object>> batch = items.subList(from, Math.min(from + BATCH_SIZE, items.size()));
+                for (JsonNode result : client.send(client.post(owner, "/items/batch", batch))) {
+                    dataset.items.add(new Dataset.Item(result.get("item").get("id").asLong(), owner));
+                }
+            }
+        }
+        for (int i = 0; i < settings.requests; i++) {
+            String word = Dataset.WORDS.get(random.nextInt(Dataset.WORDS.size()));
+            client.send(client.post(dataset.randomUser(random), "/requests",
+                    Map.of("description", "looking for a " + word)));
+        }
+        for (int i = 0; i < settings.bookings; i++) {
+            Dataset.Item item = dataset.randomItem(random);
+            JsonNode booking = client.send(client.post(dataset.randomBooker(random, item), "/bookings",
+                    dataset.newBooking(item)));
+            if (i % 2 == 0) {
+                client.send(client.patch(item.ownerId, "/bookings/" + booking.get("id").asLong() + "?approved=true"));
+            }
+        }
+        System.out.printf("seeded %d users, %d items, %d requests and %d bookings in %d s%n",
+                dataset.users.size(), dataset.items.size(), settings.requests, settings.bookings,
+                (System.nanoTime() - started) / 1_000_000_000L);
+        return dataset;
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server and gateway started from their executable jars as separate processes, so they do not share the heap
+ * and the CPU accounting of the load generator. The server runs with the ci profile on an in-memory H2 database.
+ */
+final class ShareItApplications implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final List<Process> processes = new ArrayList<>();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final URI gatewayUri;
+
+    private ShareItApplications(URI gatewayUri) {
+        this.gatewayUri = gatewayUri;
+    }
+
+    static ShareItApplications start(LoadTestSettings settings) throws IOException, InterruptedException {
+        ShareItApplications applications =
+                new ShareItApplications(URI.create("http://localhost:" + settings.gatewayPort));
+        Runtime.getRuntime().addShutdownHook(new Thread(applications::close));
+        try {
+            applications.launch(settings);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            applications.close();
+            throw e;
+        }
+        return applications;
+    }
+
+    URI getGatewayUri() {
+        return gatewayUri;
+    }
+
+    private void launch(LoadTestSettings settings) throws IOException, InterruptedException {
+        URI serverUri = URI.create("http://localhost:" + settings.serverPort);
+        Files.createDirectories(settings.logs);
+        start(settings.serverJar, settings.logs.resolve("server.log"),
+                "--spring.profiles.active=ci",
+                "--server.port=" + settings.serverPort,
+                tracing(settings, "server-spans.jsonl"));
+        awaitHealthy(serverUri);
+        start(settings.gatewayJar, settings.logs.resolve("gateway.log"),
+                "--server.port=" + settings.gatewayPort,
+                "--shareit-server.url=" + serverUri,
+                "--logging.level.org.springframework.web.client.RestTemplate=INFO",
+                tracing(settings, "gateway-spans.jsonl"));
+        awaitHealthy(gatewayUri);
+    }
+
+    private static String tracing(LoadTestSettings settings, String spans) {
+        return settings.trace
+                ? "--shareit.tracing.file=" + settings.logs.resolve(spans)
+                : "--spring.sleuth.enabled=false";
+    }
+
+    private void start(Path jar, Path log, String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(List.of(args));
+        System.out.printf("starting %s, log in %s%n", jar.getFileName(), log);
+        processes.add(new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start());
+    }
+
+    private void awaitHealthy(URI uri) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri.resolve("/actuator/health")).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            Process process = processes.get(processes.size() - 1);
+            if (!process.isAlive()) {
+                throw new IllegalStateException(uri + " exited with code " + process.exitValue());
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            TimeUnit.MILLISECONDS.sleep(500);
+        }
+        throw new IllegalStateException(uri + " did not start in " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public synchronized void close() {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            Process process = processes.get(i);
+            process.destroy();
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        processes.clear();
+    }
+}
@@ -1,12 +1,19 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.pagination.KeysetCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static ru.practicum.shareit.common.model.Constants.*;
@@ -31,6 +38,12 @@ public class BookingController {
         return bookingService.patch(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> patchAll(@RequestHeader(USER_HEADER) Long userId,
+                                                   @RequestBody List<BookingDecisionDto> decisions) {
+        return bookingService.patchAll(userId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto get(@RequestHeader(USER_HEADER) Long userId,
                           @PathVariable Long bookingId) {
@@ -38,18 +51,38 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> findAll(@RequestHeader(USER_HEADER) Long userId,
-                                    @RequestParam(defaultValue = "ALL") BookingState state,
-                                    @RequestParam(defaultValue = MIN_SIZE) int from,
-                                    @RequestParam(defaultValue = MAX_SIZE) int size) {
-        return bookingService.findAll(userId, state, from, size);
+    public ResponseEntity<List<BookingDto>> findAll(@RequestHeader(USER_HEADER) Long userId,
+                                                    @RequestParam(defaultValue = "ALL") BookingState state,
+                                                    @RequestParam(defaultValue = MIN_SIZE) int from,
+                                                    @RequestParam(defaultValue = MAX_SIZE) int size,
+                                                    @RequestParam(required = false) String cursor) {
+        return withNextCursor(bookingService.findAll(userId, state, from, size, cursor), size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getAllOwnerBookings(@RequestHeader(USER_HEADER) Long userId,
-                                                @RequestParam(defaultValue = "ALL") BookingState state,
-                                                @RequestParam(defaultValue = MIN_SIZE) int from,
-                                                @RequestParam(defaultValue = MAX_SIZE) int size) {
-        return bookingService.findAllOwnerBookings(userId, state, from, size);
+    public ResponseEntity<List<BookingDto>> getAllOwnerBookings(@RequestHeader(USER_HEADER) Long userId,
+                                                                @RequestParam(defaultValue = "ALL") BookingState state,
+                                                                @RequestParam(defaultValue = MIN_SIZE) int from,
+                                                                @RequestParam(defaultValue = MAX_SIZE) int size,
+                                                                @RequestParam(required = false) String cursor) {
+        return withNextCursor(bookingService.findAllOwnerBookings(userId, state, from, size, cursor), size);
+    }
+
+    @GetMapping("/availability")
+    public ItemAvailabilityDto checkAvailability(
+            @RequestParam Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return bookingService.checkAvailability(itemId, start, end);
+    }
+
+    private ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, int size) {
+        if (bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        BookingDto last = bookings.get(bookings.size() - 1);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, KeysetCursor.of(last.getStart(), last.getId()).encode())
+                .body(bookings);
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Unmanaged projection of a booking that still blocks its item.
+ */
+@Getter
+@AllArgsConstructor
+public class BookedInterval {
+    private final Long bookingId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+}
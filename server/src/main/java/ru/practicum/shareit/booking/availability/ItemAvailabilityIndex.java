@@ -0,0 +1,104 @@
+package ru.practicum.shareit.booking.availability;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.transaction.AfterCommit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * In-memory schedules of WAITING and APPROVED bookings for recently used items.
+ * A schedule is loaded once from the database and then kept up to date by BookingServiceImpl,
+ * so availability checks for hot items do not touch the bookings table.
+ * A schedule holds only bookings that end after it was loaded, windows starting before that are checked
+ * against the database.
+ * Schedules are loaded in the caller's transaction: a separate one would need a second pooled connection while
+ * the caller holds the item lock, and concurrent bookings would exhaust the pool. Callers check availability
+ * before writing bookings of their own, so a loaded schedule never contains uncommitted bookings.
+ * Changes are applied to a cached schedule after commit with a map compute, which waits for a load of the same
+ * item in progress: a schedule read before the commit still receives the change instead of missing it until
+ * it expires. Schedules expire a fixed time after they are loaded, updates do not extend it.
+ * The database check done under the item lock in BookingServiceImpl.create stays authoritative.
+ */
+@Component
+public class ItemAvailabilityIndex {
+    private final BookingRepository bookingRepository;
+    private final LoadingCache<Long, ItemSchedule> schedules;
+
+    public ItemAvailabilityIndex(BookingRepository bookingRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${shareit.availability.max-items:10000}") long maxItems,
+                                 @Value("${shareit.availability.ttl:10m}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        TransactionTemplate loader = new TransactionTemplate(transactionManager);
+        loader.setReadOnly(true);
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfter(new LoadTimeExpiry(ttl))
+                .build(itemId -> loader.execute(status -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    ItemSchedule schedule = new ItemSchedule(now);
+                    bookingRepository.findBlockingIntervals(itemId, now)
+                            .forEach(interval -> schedule.add(interval.getBookingId(), interval.getStart(), interval.getEnd()));
+                    return schedule;
+                }));
+    }
+
+    public boolean isFree(long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemSchedule schedule = schedules.get(itemId);
+        if (!schedule.covers(start)) {
+            // bookings that ended before the schedule was loaded are not in it
+            return !bookingRepository.existsOverlapping(itemId, start, end);
+        }
+        return !schedule.overlaps(start, end);
+    }
+
+    public void reserve(long itemId, long bookingId, LocalDateTime start, LocalDateTime end) {
+        AfterCommit.run(() -> update(itemId, schedule -> schedule.add(bookingId, start, end)));
+    }
+
+    public void release(long itemId, long bookingId) {
+        AfterCommit.run(() -> update(itemId, schedule -> schedule.remove(bookingId)));
+    }
+
+    private void update(long itemId, Consumer<ItemSchedule> change) {
+        // computeIfPresent would skip a schedule that is still loading, compute waits for it
+        schedules.asMap().compute(itemId, (id, schedule) -> {
+            if (schedule != null) {
+                change.accept(schedule);
+            }
+            return schedule;
+        });
+    }
+
+    private static final class LoadTimeExpiry implements Expiry<Long, ItemSchedule> {
+        private final long ttlNanos;
+
+        private LoadTimeExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long itemId, ItemSchedule schedule, long currentTime) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long itemId, ItemSchedule schedule, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Long itemId, ItemSchedule schedule, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Blocking bookings of a single item ordered by start.
+ * An interval overlapping [start, end) must begin after {@code start - longest}, so an overlap check
+ * only visits the entries in that window instead of the whole schedule.
+ * Only bookings ending after {@code loadedFrom} are loaded, so the schedule answers for windows starting
+ * at that time or later.
+ */
+final class ItemSchedule {
+    private final LocalDateTime loadedFrom;
+    private final NavigableMap<LocalDateTime, Map<Long, LocalDateTime>> endsByStart = new TreeMap<>();
+    private final Map<Long, LocalDateTime> startsByBooking = new HashMap<>();
+    private Duration longest = Duration.ZERO;
+
+    ItemSchedule(LocalDateTime loadedFrom) {
+        this.loadedFrom = loadedFrom;
+    }
+
+    boolean covers(LocalDateTime start) {
+        return !start.isBefore(loadedFrom);
+    }
+
+    synchronized void add(long bookingId, LocalDateTime start, LocalDateTime end) {
+        remove(bookingId);
+        endsByStart.computeIfAbsent(start, key -> new HashMap<>()).put(bookingId, end);
+        startsByBooking.put(bookingId, start);
+        Duration duration = Duration.between(start, end);
+        if (duration.compareTo(longest) > 0) {
+            longest = duration;
+        }
+    }
+
+    synchronized void remove(long bookingId) {
+        LocalDateTime start = startsByBooking.remove(bookingId);
+        if (start == null) {
+            return;
+        }
+        Map<Long, LocalDateTime> ends = endsByStart.get(start);
+        ends.remove(bookingId);
+        if (ends.isEmpty()) {
+            endsByStart.remove(start);
+        }
+    }
+
+    synchronized boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        for (Map<Long, LocalDateTime> ends : endsByStart.subMap(start.minus(longest), false, end, false).values()) {
+            for (LocalDateTime bookedEnd : ends.values()) {
+                if (bookedEnd.isAfter(start)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
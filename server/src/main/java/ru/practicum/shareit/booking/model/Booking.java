@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -30,12 +31,39 @@ public class Booking {
     @ToString.Exclude
     private User booker;
 
+    /**
+     * Owner of the booked item, copied from it on insert so that owner listings
+     * are served by the bookings table alone.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", nullable = false)
+    @ToString.Exclude
+    private User owner;
+
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookingPhase phase;
+
     @Column(name = "start_date", nullable = false)
     private LocalDateTime start;
 
     @Column(name = "end_date", nullable = false)
     private LocalDateTime end;
+
+    // primitive, so Spring Data still tells new bookings apart by the id
+    @Version
+    private long version;
+
+    @PrePersist
+    void beforeInsert() {
+        if (owner == null) {
+            owner = item.getOwner();
+        }
+        if (phase == null) {
+            phase = BookingPhase.at(start, end, LocalDateTime.now());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position of a booking on the time line, set on insert and moved forward by BookingPhaseScheduler
+ * when the booking starts or ends.
+ */
+public enum BookingPhase {
+    UPCOMING,
+    ACTIVE,
+    FINISHED;
+
+    public static BookingPhase at(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        if (!end.isAfter(now)) {
+            return FINISHED;
+        }
+        return start.isAfter(now) ? UPCOMING : ACTIVE;
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.booking.phase;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Moves bookings to the next lifecycle phase once they start or end, so CURRENT, PAST and FUTURE
+ * listings filter on the phase column instead of comparing both dates with the current time.
+ * Bookings are moved in batches, each in its own short transaction. Between two runs a booking
+ * may still be listed in its previous phase.
+ */
+@Component
+@Slf4j
+public class BookingPhaseScheduler {
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Pageable batch;
+
+    public BookingPhaseScheduler(BookingRepository bookingRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${shareit.booking.phase.batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batch = PageRequest.of(0, batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.phase.refresh-interval:PT10S}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        // ended bookings first, so the ones that started and ended between two runs go straight to FINISHED
+        int finished = move(BookingPhase.FINISHED,
+                pageable -> bookingRepository.findIdsEndedBefore(BookingPhase.ACTIVE, now, pageable))
+                + move(BookingPhase.FINISHED,
+                pageable -> bookingRepository.findIdsEndedBefore(BookingPhase.UPCOMING, now, pageable));
+        int started = move(BookingPhase.ACTIVE, pageable -> bookingRepository.findIdsStartedBefore(now, pageable));
+        if (finished + started > 0) {
+            log.debug("booking phases refreshed: {} started, {} finished", started, finished);
+        }
+    }
+
+    private int move(BookingPhase phase, Function<Pageable, List<Long>> findIds) {
+        int moved = 0;
+        int updated;
+        do {
+            updated = transactionTemplate.execute(status -> {
+                List<Long> ids = findIds.apply(batch);
+                return ids.isEmpty() ? 0 : bookingRepository.updatePhase(ids, phase);
+            });
+            moved += updated;
+        } while (updated == batch.getPageSize());
+        return moved;
+    }
+}
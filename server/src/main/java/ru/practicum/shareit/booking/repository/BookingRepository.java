@@ -2,11 +2,15 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.availability.BookedInterval;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,47 +19,87 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.id = ?1")
     Optional<Booking> getByBookingId(Long bookingId);
 
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.id IN ?1")
+    List<Booking> findAllByIdIn(Collection<Long> bookingIds);
+
+    /**
+     * Moves WAITING bookings to the given status without locking them beforehand,
+     * bookings decided concurrently are skipped and not counted.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = ?2, b.version = b.version + 1 WHERE b.id IN ?1 AND b.status = 'WAITING'")
+    int updateWaitingStatus(Collection<Long> bookingIds, BookingStatus status);
+
     @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE i.id = ?1 AND u.id = ?2 and b.status = 'APPROVED' and b.end <= CURRENT_TIMESTAMP")
     List<Booking> findAllByItemIdAndBooker(Long itemId, Long bookerId);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE i.id IN ?1 and b.status = ?2")
-    List<Booking> findAllByItemIdIn(List<Long> itemIds, BookingStatus bookingStatus);
+    @Query("SELECT b FROM Booking b WHERE b.item.id IN ?1 AND b.status = 'APPROVED' AND b.start < ?2 " +
+            "AND b.end = (SELECT MAX(lb.end) FROM Booking lb " +
+            "WHERE lb.item.id = b.item.id AND lb.status = 'APPROVED' AND lb.start < ?2)")
+    List<Booking> findLastApprovedByItemIdIn(List<Long> itemIds, LocalDateTime now);
+
+    @Query("SELECT b FROM Booking b WHERE b.item.id IN ?1 AND b.status = 'APPROVED' AND b.start > ?2 " +
+            "AND b.start = (SELECT MIN(nb.start) FROM Booking nb " +
+            "WHERE nb.item.id = b.item.id AND nb.status = 'APPROVED' AND nb.start > ?2)")
+    List<Booking> findNextApprovedByItemIdIn(List<Long> itemIds, LocalDateTime now);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.item.owner.id = ?1")
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.owner.id = ?1")
     List<Booking> findAllByItemOwnerId(Long ownerId, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE i.owner.id = ?1 AND b.start <= ?2 AND b.end >= ?3")
-    List<Booking> findCurrentByOwnerId(
-            Long ownerId,
-            LocalDateTime startBefore,
-            LocalDateTime endAfter,
-            Pageable pageable);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.owner.id = ?1 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))")
+    List<Booking> findAllByItemOwnerId(Long ownerId, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE i.owner.id = ?1 AND b.end <= ?2")
-    List<Booking> findPastByOwnerId(Long ownerId, LocalDateTime endBefore, Pageable pageable);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.owner.id = ?1 AND b.phase = ?2")
+    List<Booking> findByOwnerAndPhase(Long ownerId, BookingPhase phase, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE i.owner.id = ?1 AND b.start >= ?2")
-    List<Booking> findFutureByOwnerId(Long ownerId, LocalDateTime startAfter, Pageable pageable);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.owner.id = ?1 AND b.phase = ?2 " +
+            "AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4))")
+    List<Booking> findByOwnerAndPhase(Long ownerId, BookingPhase phase, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE i.owner.id = ?1 AND b.status = ?2")
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.owner.id = ?1 AND b.status = ?2")
     List<Booking> finByOwnerAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
 
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.owner.id = ?1 AND b.status = ?2 " +
+            "AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4))")
+    List<Booking> finByOwnerAndStatus(Long ownerId, BookingStatus status, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
     @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1")
     List<Booking> findAllByBooker(Long bookerId, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 AND b.start <= ?2 AND b.end >= ?3")
-    List<Booking> findCurrentByBooker(
-            Long ownerId,
-            LocalDateTime startBefore,
-            LocalDateTime endAfter,
-            Pageable pageable);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 " +
+            "AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3))")
+    List<Booking> findAllByBooker(Long bookerId, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 AND b.end <= ?2")
-    List<Booking> findPastByBooker(Long ownerId, LocalDateTime endBefore, Pageable pageable);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 AND b.phase = ?2")
+    List<Booking> findByBookerAndPhase(Long bookerId, BookingPhase phase, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 AND b.start >= ?2")
-    List<Booking> findFutureByBooker(Long ownerId, LocalDateTime startAfter, Pageable pageable);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 AND b.phase = ?2 " +
+            "AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4))")
+    List<Booking> findByBookerAndPhase(Long bookerId, BookingPhase phase, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
 
     @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 AND b.status = ?2")
     List<Booking> findByBookerAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 AND b.status = ?2 " +
+            "AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4))")
+    List<Booking> findByBookerAndStatus(Long ownerId, BookingStatus status, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.phase = ?1 AND b.end <= ?2 ORDER BY b.end")
+    List<Long> findIdsEndedBefore(BookingPhase phase, LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.phase = 'UPCOMING' AND b.start <= ?1 ORDER BY b.start")
+    List<Long> findIdsStartedBefore(LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.phase = ?2 WHERE b.id IN ?1")
+    int updatePhase(Collection<Long> bookingIds, BookingPhase phase);
+
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b " +
+            "WHERE b.item.id = ?1 AND b.status IN ('WAITING', 'APPROVED') AND b.start < ?3 AND b.end > ?2")
+    boolean existsOverlapping(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT new ru.practicum.shareit.booking.availability.BookedInterval(b.id, b.start, b.end) FROM Booking b " +
+            "WHERE b.item.id = ?1 AND b.status IN ('WAITING', 'APPROVED') AND b.end > ?2")
+    List<BookedInterval> findBlockingIntervals(Long itemId, LocalDateTime now);
+}
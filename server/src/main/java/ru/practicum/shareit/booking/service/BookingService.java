@@ -1,13 +1,17 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
-    List<BookingDto> findAll(Long userId, BookingState state, int from, int size);
+    List<BookingDto> findAll(Long userId, BookingState state, int from, int size, String cursor);
 
     BookingDto get(Long userId, Long bookingId);
 
@@ -15,5 +19,9 @@ public interface BookingService {
 
     BookingDto patch(Long userId, Long bookingId, Boolean approved);
 
-    List<BookingDto> findAllOwnerBookings(Long userId, BookingState state, int from, int size);
+    List<BookingDecisionResultDto> patchAll(Long userId, List<BookingDecisionDto> decisions);
+
+    List<BookingDto> findAllOwnerBookings(Long userId, BookingState state, int from, int size, String cursor);
+
+    ItemAvailabilityDto checkAvailability(Long itemId, LocalDateTime start, LocalDateTime end);
 }
\ No newline at end of file
@@ -1,50 +1,66 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.exception.ConflictException;
 import ru.practicum.shareit.common.exception.ObjectNotFoundException;
 import ru.practicum.shareit.common.exception.ValidationException;
+import ru.practicum.shareit.common.metrics.MetricsConfiguration;
 import ru.practicum.shareit.common.pagination.CustomPageRequest;
+import ru.practicum.shareit.common.pagination.KeysetCursor;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(MetricsConfiguration.SERVICE_TIMER)
 public class BookingServiceImpl implements BookingService {
-    public static final Sort BOOKINGS_SORTING = Sort.by(Sort.Direction.DESC, "start");
+    public static final Sort BOOKINGS_SORTING = Sort.by(Sort.Direction.DESC, "start", "id");
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final UserIdRegistry userIdRegistry;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
 
     @Override
     public BookingDto create(Long userId, NewBookingDto bookingDto) {
         User user = getUser(userId);
-        Item item = itemRepository.findById(bookingDto.getItemId())
+        Item item = itemRepository.findByIdForUpdate(bookingDto.getItemId())
                 .orElseThrow(() -> new ObjectNotFoundException("Item is not found"));
         isBookingValid(item, bookingDto);
         if (item.getOwner().getId().equals(userId)) {
             throw new ObjectNotFoundException("Item is already reserved");
         }
+        checkNoOverlap(item.getId(), bookingDto.getStart(), bookingDto.getEnd());
         Booking booking = Booking.builder()
                 .item(item)
                 .booker(user)
@@ -52,12 +68,14 @@ public class BookingServiceImpl implements BookingService {
                 .start(bookingDto.getStart())
                 .end(bookingDto.getEnd())
                 .build();
-        return bookingMapper.toDto(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+        itemAvailabilityIndex.reserve(item.getId(), savedBooking.getId(), savedBooking.getStart(), savedBooking.getEnd());
+        return bookingMapper.toDto(savedBooking);
     }
 
     @Override
     public BookingDto patch(Long userId, Long bookingId, Boolean approved) {
-        getUser(userId);
+        confirmUser(userId);
         Booking booking = getBooking(bookingId);
         if (!booking.getStatus().equals(BookingStatus.WAITING)) {
             throw new ValidationException("Item is already reserved");
@@ -65,25 +83,97 @@ public class BookingServiceImpl implements BookingService {
         if (!booking.getItem().getOwner().getId().equals(userId)) {
             throw new ObjectNotFoundException("You can not edit this booking");
         }
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
+        BookingDto bookingDto = bookingMapper.toDto(booking);
+        bookingDto.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+        // the status is checked again by the UPDATE itself, so a concurrent decision can not be overwritten
+        if (bookingRepository.updateWaitingStatus(List.of(bookingId), bookingDto.getStatus()) == 0) {
+            throw new ConflictException("Booking is already approved or rejected");
+        }
+        if (!approved) {
+            itemAvailabilityIndex.release(booking.getItem().getId(), booking.getId());
         }
-        return bookingMapper.toDto(booking);
+        return bookingDto;
     }
 
     @Override
-    public List<BookingDto> findAll(Long userId, BookingState state, int from, int size) {
-        getUser(userId);
-        Pageable pageRequest = CustomPageRequest.of(from, size, BOOKINGS_SORTING);
-        List<Booking> bookings = getByBooker(state, userId, pageRequest);
+    @Retryable(value = ConflictException.class, maxAttempts = 3,
+            backoff = @Backoff(delay = 20, maxDelay = 200, random = true))
+    public List<BookingDecisionResultDto> patchAll(Long userId, List<BookingDecisionDto> decisions) {
+        confirmUser(userId);
+        Set<Long> bookingIds = decisions.stream()
+                .map(BookingDecisionDto::getBookingId)
+                .collect(Collectors.toSet());
+        Map<Long, Booking> bookings = bookingRepository.findAllByIdIn(bookingIds)
+                .stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Set<Long> decided = new HashSet<>();
+        List<Long> approvedIds = new ArrayList<>();
+        List<Long> rejectedIds = new ArrayList<>();
+        List<BookingDecisionResultDto> results = new ArrayList<>(decisions.size());
+        for (BookingDecisionDto decision : decisions) {
+            Long bookingId = decision.getBookingId();
+            Booking booking = bookings.get(bookingId);
+            if (booking == null || !booking.getItem().getOwner().getId().equals(userId)) {
+                results.add(BookingDecisionResultDto.failed(bookingId, "Booking is not found"));
+                continue;
+            }
+            if (!booking.getStatus().equals(BookingStatus.WAITING) || !decided.add(bookingId)) {
+                results.add(BookingDecisionResultDto.failed(bookingId, "Item is already reserved"));
+                continue;
+            }
+            BookingDto bookingDto = bookingMapper.toDto(booking);
+            if (decision.getApproved()) {
+                bookingDto.setStatus(BookingStatus.APPROVED);
+                approvedIds.add(bookingId);
+            } else {
+                bookingDto.setStatus(BookingStatus.REJECTED);
+                rejectedIds.add(bookingId);
+                itemAvailabilityIndex.release(booking.getItem().getId(), bookingId);
+            }
+            results.add(BookingDecisionResultDto.applied(bookingDto));
+        }
+        // one UPDATE per decision kind instead of a dirty-checked update per booking; when some bookings were
+        // decided concurrently the whole batch is rolled back and retried, so their outcomes are reported again
+        int updated = 0;
+        if (!approvedIds.isEmpty()) {
+            updated += bookingRepository.updateWaitingStatus(approvedIds, BookingStatus.APPROVED);
+        }
+        if (!rejectedIds.isEmpty()) {
+            updated += bookingRepository.updateWaitingStatus(rejectedIds, BookingStatus.REJECTED);
+        }
+        if (updated != approvedIds.size() + rejectedIds.size()) {
+            throw new ConflictException("Bookings were approved or rejected concurrently");
+        }
+        return results;
+    }
+
+    @Override
+    public ItemAvailabilityDto checkAvailability(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            throw new ValidationException("Booking is not valid");
+        }
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new ObjectNotFoundException("Item is not found"));
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .available(item.getAvailable() && itemAvailabilityIndex.isFree(itemId, start, end))
+                .build();
+    }
+
+    @Override
+    public List<BookingDto> findAll(Long userId, BookingState state, int from, int size, String cursor) {
+        checkUser(userId);
+        KeysetCursor position = toPosition(from, cursor);
+        Pageable pageRequest = CustomPageRequest.of(cursor == null ? from : 0, size, BOOKINGS_SORTING);
+        List<Booking> bookings = getByBooker(state, userId, position, pageRequest);
         return bookingMapper.toDtoList(bookings);
     }
 
     @Override
     public BookingDto get(Long userId, Long bookingId) {
-        getUser(userId);
+        checkUser(userId);
         Booking booking = getBooking(bookingId);
         if (booking.getBooker().getId().equals(userId) || booking.getItem().getOwner().getId().equals(userId)) {
             return bookingMapper.toDto(booking);
@@ -93,10 +183,11 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> findAllOwnerBookings(Long userId, BookingState state, int from, int size) {
-        getUser(userId);
-        Pageable pageRequest = CustomPageRequest.of(from, size, BOOKINGS_SORTING);
-        List<Booking> bookings = getByUser(state, userId, pageRequest);
+    public List<BookingDto> findAllOwnerBookings(Long userId, BookingState state, int from, int size, String cursor) {
+        checkUser(userId);
+        KeysetCursor position = toPosition(from, cursor);
+        Pageable pageRequest = CustomPageRequest.of(cursor == null ? from : 0, size, BOOKINGS_SORTING);
+        List<Booking> bookings = getByUser(state, userId, position, pageRequest);
         return bookings != null ? bookings.stream()
                 .map(bookingMapper::toDto)
                 .collect(Collectors.toList()) : new ArrayList<>();
@@ -114,48 +205,105 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    private void checkNoOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        // the item row is locked, so no competing booking for it can be inserted until this transaction ends
+        if (!itemAvailabilityIndex.isFree(itemId, start, end)
+                || bookingRepository.existsOverlapping(itemId, start, end)) {
+            throw new ValidationException("Item is already booked for these dates");
+        }
+    }
+
+    /**
+     * Position to continue from, null for the first page which is read without a seek predicate.
+     */
+    private KeysetCursor toPosition(int from, String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        if (from != 0) {
+            throw new ValidationException("Parameters from and cursor can not be used together");
+        }
+        return KeysetCursor.decode(cursor);
+    }
+
     private User getUser(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new ObjectNotFoundException("User is not found"));
     }
 
+    private void checkUser(Long userId) {
+        if (!userIdRegistry.exists(userId)) {
+            throw new ObjectNotFoundException("User is not found");
+        }
+    }
+
+    private void confirmUser(Long userId) {
+        if (!userIdRegistry.confirm(userId)) {
+            throw new ObjectNotFoundException("User is not found");
+        }
+    }
+
     private Booking getBooking(Long bookingId) {
         return bookingRepository.getByBookingId(bookingId)
                 .orElseThrow(() -> new ObjectNotFoundException("Booking is not found"));
     }
 
-    private List<Booking> getByBooker(BookingState state, Long bookerId, Pageable pageRequest) {
+    private List<Booking> getByBooker(BookingState state, Long bookerId, KeysetCursor position, Pageable pageRequest) {
         switch (state) {
             case ALL:
-                return bookingRepository.findAllByBooker(bookerId, pageRequest);
+                return position == null
+                        ? bookingRepository.findAllByBooker(bookerId, pageRequest)
+                        : bookingRepository.findAllByBooker(bookerId, position.getTimestamp(), position.getId(), pageRequest);
             case CURRENT:
-                return bookingRepository.findCurrentByBooker(bookerId, LocalDateTime.now(), LocalDateTime.now(), pageRequest);
+                return position == null
+                        ? bookingRepository.findByBookerAndPhase(bookerId, BookingPhase.ACTIVE, pageRequest)
+                        : bookingRepository.findByBookerAndPhase(bookerId, BookingPhase.ACTIVE, position.getTimestamp(), position.getId(), pageRequest);
             case PAST:
-                return bookingRepository.findPastByBooker(bookerId, LocalDateTime.now(), pageRequest);
+                return position == null
+                        ? bookingRepository.findByBookerAndPhase(bookerId, BookingPhase.FINISHED, pageRequest)
+                        : bookingRepository.findByBookerAndPhase(bookerId, BookingPhase.FINISHED, position.getTimestamp(), position.getId(), pageRequest);
             case FUTURE:
-                return bookingRepository.findFutureByBooker(bookerId, LocalDateTime.now(), pageRequest);
+                return position == null
+                        ? bookingRepository.findByBookerAndPhase(bookerId, BookingPhase.UPCOMING, pageRequest)
+                        : bookingRepository.findByBookerAndPhase(bookerId, BookingPhase.UPCOMING, position.getTimestamp(), position.getId(), pageRequest);
             case WAITING:
-                return bookingRepository.findByBookerAndStatus(bookerId, BookingStatus.WAITING, pageRequest);
+                return position == null
+                        ? bookingRepository.findByBookerAndStatus(bookerId, BookingStatus.WAITING, pageRequest)
+                        : bookingRepository.findByBookerAndStatus(bookerId, BookingStatus.WAITING, position.getTimestamp(), position.getId(), pageRequest);
             case REJECTED:
-                return bookingRepository.findByBookerAndStatus(bookerId, BookingStatus.REJECTED, pageRequest);
+                return position == null
+                        ? bookingRepository.findByBookerAndStatus(bookerId, BookingStatus.REJECTED, pageRequest)
+                        : bookingRepository.findByBookerAndStatus(bookerId, BookingStatus.REJECTED, position.getTimestamp(), position.getId(), pageRequest);
         }
         return null;
     }
 
-    private List<Booking> getByUser(BookingState state, Long userId, Pageable pageRequest) {
+    private List<Booking> getByUser(BookingState state, Long userId, KeysetCursor position, Pageable pageRequest) {
         switch (state) {
             case ALL:
-                return bookingRepository.findAllByItemOwnerId(userId, pageRequest);
+                return position == null
+                        ? bookingRepository.findAllByItemOwnerId(userId, pageRequest)
+                        : bookingRepository.findAllByItemOwnerId(userId, position.getTimestamp(), position.getId(), pageRequest);
             case CURRENT:
-                return bookingRepository.findCurrentByOwnerId(userId, LocalDateTime.now(), LocalDateTime.now(), pageRequest);
+                return position == null
+                        ? bookingRepository.findByOwnerAndPhase(userId, BookingPhase.ACTIVE, pageRequest)
+                        : bookingRepository.findByOwnerAndPhase(userId, BookingPhase.ACTIVE, position.getTimestamp(), position.getId(), pageRequest);
             case PAST:
-                return bookingRepository.findPastByOwnerId(userId, LocalDateTime.now(), pageRequest);
+                return position == null
+                        ? bookingRepository.findByOwnerAndPhase(userId, BookingPhase.FINISHED, pageRequest)
+                        : bookingRepository.findByOwnerAndPhase(userId, BookingPhase.FINISHED, position.getTimestamp(), position.getId(), pageRequest);
             case FUTURE:
-                return bookingRepository.findFutureByOwnerId(userId, LocalDateTime.now(), pageRequest);
+                return position == null
+                        ? bookingRepository.findByOwnerAndPhase(userId, BookingPhase.UPCOMING, pageRequest)
+                        : bookingRepository.findByOwnerAndPhase(userId, BookingPhase.UPCOMING, position.getTimestamp(), position.getId(), pageRequest);
             case WAITING:
-                return bookingRepository.finByOwnerAndStatus(userId, BookingStatus.WAITING, pageRequest);
+                return position == null
+                        ? bookingRepository.finByOwnerAndStatus(userId, BookingStatus.WAITING, pageRequest)
+                        : bookingRepository.finByOwnerAndStatus(userId, BookingStatus.WAITING, position.getTimestamp(), position.getId(), pageRequest);
             case REJECTED:
-                return bookingRepository.finByOwnerAndStatus(userId, BookingStatus.REJECTED, pageRequest);
+                return position == null
+                        ? bookingRepository.finByOwnerAndStatus(userId, BookingStatus.REJECTED, pageRequest)
+                        : bookingRepository.finByOwnerAndStatus(userId, BookingStatus.REJECTED, position.getTimestamp(), position.getId(), pageRequest);
         }
         return null;
     }
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.common.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+
+/**
+ * Service implementations annotated with {@code @Timed(SERVICE_TIMER)} are timed per method and tagged with the
+ * requested booking state. Repository queries are timed by Spring Data as spring.data.repository.invocations.
+ * Both timers are tagged with the endpoint being served, so query time can be attributed to endpoints.
+ * Histograms and percentiles are configured in application.properties.
+ */
+@Configuration
+public class MetricsConfiguration {
+    public static final String SERVICE_TIMER = "shareit.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry, MetricsConfiguration::serviceTags);
+    }
+
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        return new DefaultRepositoryTagsProvider() {
+            @Override
+            public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+                return Tags.of(super.repositoryTags(invocation)).and(MetricsTags.endpoint());
+            }
+        };
+    }
+
+    private static Iterable<Tag> serviceTags(ProceedingJoinPoint joinPoint) {
+        Signature signature = joinPoint.getStaticPart().getSignature();
+        return Tags.of(
+                Tag.of("class", signature.getDeclaringTypeName()),
+                Tag.of("method", signature.getName()),
+                MetricsTags.endpoint(),
+                MetricsTags.bookingState(joinPoint.getArgs()));
+    }
+}
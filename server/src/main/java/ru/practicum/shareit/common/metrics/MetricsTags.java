@@ -0,0 +1,47 @@
+package ru.practicum.shareit.common.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Tags shared by the service and repository timers. Prometheus requires every meter of a name to have the same
+ * tag keys, so a missing value is reported as "none" instead of leaving the tag out.
+ */
+final class MetricsTags {
+    static final String ENDPOINT = "endpoint";
+    static final String BOOKING_STATE = "booking.state";
+    static final String NONE = "none";
+
+    private MetricsTags() {
+    }
+
+    /**
+     * Method and path pattern of the request being handled on this thread, e.g. "GET /bookings/owner".
+     */
+    static Tag endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                return Tag.of(ENDPOINT, request.getMethod() + " " + pattern);
+            }
+        }
+        return Tag.of(ENDPOINT, NONE);
+    }
+
+    static Tag bookingState(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof BookingState) {
+                return Tag.of(BOOKING_STATE, ((BookingState) arg).name());
+            }
+        }
+        return Tag.of(BOOKING_STATE, NONE);
+    }
+}
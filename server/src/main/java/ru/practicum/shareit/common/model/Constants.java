@@ -4,4 +4,5 @@ public class Constants {
     public static final String USER_HEADER = "X-Sharer-User-Id";
     public static final String MIN_SIZE = "0";
     public static final String MAX_SIZE = "50";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 }
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.common.pagination;
+
+import ru.practicum.shareit.common.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque url-safe token holding the id of the last row of a page ordered by id.
+ */
+public final class IdCursor {
+
+    private IdCursor() {
+    }
+
+    public static String encode(long id) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decode(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Cursor is not valid");
+        }
+    }
+}
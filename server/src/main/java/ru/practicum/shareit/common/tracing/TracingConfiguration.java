@@ -0,0 +1,20 @@
+package ru.practicum.shareit.common.tracing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sleuth continues the trace of the gateway from the request headers and traces HTTP exchanges and SQL statements,
+ * service calls are traced by ServiceSpanAspect. Span export is configured by the shareit-tracing module.
+ */
+@Configuration
+public class TracingConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(value = "spring.sleuth.enabled", matchIfMissing = true)
+    public ServiceSpanAspect serviceSpanAspect(Tracer tracer) {
+        return new ServiceSpanAspect(tracer);
+    }
+}
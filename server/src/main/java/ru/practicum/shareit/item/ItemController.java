@@ -3,6 +3,7 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.NewCommentDto;
 import ru.practicum.shareit.item.dto.NewItemDto;
@@ -31,6 +32,12 @@ public class ItemController {
         return itemService.addNewItem(userId, item);
     }
 
+    @PostMapping("/batch")
+    public List<ItemBatchResultDto> addAll(@RequestHeader(USER_HEADER) Long userId,
+                                           @RequestBody List<NewItemDto> items) {
+        return itemService.addNewItems(userId, items);
+    }
+
     @DeleteMapping("/{itemId}")
     public void deleteItem(@RequestHeader(USER_HEADER) long userId,
                            @PathVariable long itemId) {
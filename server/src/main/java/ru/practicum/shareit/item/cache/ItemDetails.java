@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+/**
+ * Cached non-owner view of an item, the owner id tells whether a reader may be served from it.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ItemDetails {
+    private final long ownerId;
+    private final ItemDto item;
+
+    /**
+     * Returns a copy of the item, so callers can not change the cached one.
+     */
+    public ItemDto copyOfItem() {
+        ItemDto copy = item.toBuilder().build();
+        copy.getComments().addAll(item.getComments());
+        return copy;
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.transaction.AfterCommit;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Item details shown to non-owners, kept in the "itemDetails" cache configured by spring.cache.* properties.
+ * Entries are evicted right away and once more after commit. A reader may load the old row while the writing
+ * transaction is still open and store it after that second eviction, so every eviction after commit also
+ * advances a generation: a reader takes the generation before loading and drops its own entry when it has
+ * moved on by the time the entry is stored.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemDetailsCache {
+    public static final String NAME = "itemDetails";
+
+    private final CacheManager cacheManager;
+    private final AtomicLong generation = new AtomicLong();
+
+    @Nullable
+    public ItemDetails get(long itemId) {
+        return cache().get(itemId, ItemDetails.class);
+    }
+
+    /**
+     * Taken before loading the details to be stored with {@link #put}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(long itemId, ItemDetails itemDetails, long loadedAt) {
+        cache().put(itemId, itemDetails);
+        // an eviction after commit may have run between the load and the put above
+        if (generation.get() != loadedAt) {
+            cache().evict(itemId);
+        }
+    }
+
+    public void evict(long itemId) {
+        cache().evict(itemId);
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            cache().evict(itemId);
+        });
+    }
+
+    public void clear() {
+        cache().clear();
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            cache().clear();
+        });
+    }
+
+    private Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(NAME), "cache " + NAME + " is not configured");
+    }
+}
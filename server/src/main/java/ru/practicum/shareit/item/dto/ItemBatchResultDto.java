@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one entry of a bulk item creation, either the created item or the reason it was rejected.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemBatchResultDto {
+    private ItemDto item;
+    private String error;
+
+    public static ItemBatchResultDto created(ItemDto item) {
+        return new ItemBatchResultDto(item, null);
+    }
+
+    public static ItemBatchResultDto rejected(String error) {
+        return new ItemBatchResultDto(null, error);
+    }
+}
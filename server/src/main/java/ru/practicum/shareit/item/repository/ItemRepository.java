@@ -3,14 +3,49 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.IndexedItem;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Item> findAllByOwnerIdOrderById(Long userId, Pageable pageable);
 
-    @Query("SELECT i FROM Item i WHERE LOWER(i.name) LIKE ?1 OR LOWER(i.description) LIKE ?1 AND i.available = true")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long itemId);
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.available = true AND (LOWER(i.name) LIKE ?1 OR LOWER(i.description) LIKE ?1) " +
+            "ORDER BY CASE WHEN LOWER(i.name) LIKE ?1 THEN 0 ELSE 1 END, i.id")
     List<Item> findAllByNameOrDescription(String text, Pageable pageable);
+
+    @Query(value = "SELECT c.* FROM (SELECT i.* FROM items i " +
+            "WHERE i.available = true " +
+            "AND (setweight(to_tsvector('simple', i.name), 'A') || setweight(to_tsvector('simple', i.description), 'B')) " +
+            "@@ to_tsquery('simple', ?1) " +
+            "LIMIT ?2) c " +
+            "ORDER BY ts_rank(setweight(to_tsvector('simple', c.name), 'A') || " +
+            "setweight(to_tsvector('simple', c.description), 'B'), to_tsquery('simple', ?1)) DESC, c.id",
+            nativeQuery = true)
+    List<Item> findAllByFullText(String tsQuery, int candidates, Pageable pageable);
+
+    @Query("SELECT i.id FROM Item i WHERE i.owner.id = ?1")
+    List<Long> findIdsByOwnerId(Long ownerId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new ru.practicum.shareit.item.search.IndexedItem(i.id, i.name, i.description) FROM Item i " +
+            "WHERE i.available = true ORDER BY i.id")
+    Stream<IndexedItem> streamAvailableForIndex();
 }
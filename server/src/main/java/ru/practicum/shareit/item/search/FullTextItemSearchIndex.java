@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * PostgreSQL tsvector search backed by the GIN index from schema-postgresql.sql.
+ * Every query token is matched as a prefix, so partial words keep working as they did with LIKE.
+ * Only the first shareit.search.fulltext.candidates matches read from the index are ranked and paged, so a common
+ * term stops after that many rows instead of fetching and ranking every match. They are not ordered first:
+ * the planner underestimates prefix matches and would fetch all of them to sort.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "fulltext")
+public class FullTextItemSearchIndex implements ItemSearchIndex {
+    private final ItemRepository itemRepository;
+    private final int candidates;
+
+    public FullTextItemSearchIndex(ItemRepository itemRepository,
+                                   @Value("${shareit.search.fulltext.candidates:1000}") int candidates) {
+        this.itemRepository = itemRepository;
+        this.candidates = candidates;
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String query = toTsQuery(text);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return itemRepository.findAllByFullText(query, candidates, pageable);
+    }
+
+    static String toTsQuery(String text) {
+        return SearchTokenizer.tokenize(text)
+                .stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,226 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.transaction.AfterCommit;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.transaction.Transactional;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index kept in the server heap: token -> ids of available items containing it.
+ * Query tokens are matched as prefixes and combined by posting list intersection. Like the database engines,
+ * results are ranked by the number of query tokens found in the item name, so name hits come before
+ * description-only hits, and by id within the same rank.
+ * The index is rebuilt from the items table on startup and updated by ItemServiceImpl and UserServiceImpl
+ * after each commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchIndex implements ItemSearchIndex {
+    private final ItemRepository itemRepository;
+
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final NavigableMap<String, PostingList> namePostings = new TreeMap<>();
+    private final Map<Long, List<String>> itemTokens = new HashMap<>();
+    private final Map<Long, List<String>> itemNameTokens = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        lock.writeLock().lock();
+        try (Stream<IndexedItem> items = itemRepository.streamAvailableForIndex()) {
+            postings.clear();
+            namePostings.clear();
+            itemTokens.clear();
+            itemNameTokens.clear();
+            items.forEach(item -> add(item.getId(), item.getName(), item.getDescription()));
+            log.info("item search index rebuilt: {} items, {} tokens", itemTokens.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        long[] ids = findIds(SearchTokenizer.tokenize(text));
+        int from = (int) Math.min(pageable.getOffset(), ids.length);
+        int to = (int) Math.min((long) from + pageable.getPageSize(), ids.length);
+        if (from == to) {
+            return Collections.emptyList();
+        }
+        List<Long> pageIds = Arrays.stream(ids, from, to)
+                .boxed()
+                .collect(Collectors.toList());
+        // an item deleted after the index lookup is still listed until its removal is committed
+        Map<Long, Item> items = itemRepository.findAllById(pageIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return pageIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void index(Item item) {
+        long id = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(id);
+                if (available) {
+                    add(id, name, description);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void remove(long itemId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void removeByOwner(long ownerId) {
+        // read before the cascade deletes the rows, applied once it is committed
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(ownerId);
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                itemIds.forEach(this::delete);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    long[] findIds(List<String> tokens) {
+        if (tokens.isEmpty()) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            List<long[]> matches = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                long[] ids = matchPrefix(postings, token);
+                if (ids.length == 0) {
+                    return ids;
+                }
+                matches.add(ids);
+            }
+            matches.sort(Comparator.comparingInt(ids -> ids.length));
+            long[] result = matches.get(0);
+            for (int i = 1; i < matches.size() && result.length > 0; i++) {
+                result = PostingList.intersect(result, matches.get(i));
+            }
+            return rank(result, tokens);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Orders the matching ids by the number of query tokens found in the name, ids are sorted within a rank.
+     */
+    private long[] rank(long[] ids, List<String> tokens) {
+        if (ids.length < 2) {
+            return ids;
+        }
+        int[] nameHits = new int[ids.length];
+        for (String token : tokens) {
+            long[] nameIds = matchPrefix(namePostings, token);
+            for (int i = 0; i < ids.length; i++) {
+                if (Arrays.binarySearch(nameIds, ids[i]) >= 0) {
+                    nameHits[i]++;
+                }
+            }
+        }
+        long[] ranked = new long[ids.length];
+        int position = 0;
+        for (int rank = tokens.size(); rank >= 0; rank--) {
+            for (int i = 0; i < ids.length; i++) {
+                if (nameHits[i] == rank) {
+                    ranked[position++] = ids[i];
+                }
+            }
+        }
+        return ranked;
+    }
+
+    /**
+     * Ids of all tokens starting with the given one, the posting lists are decoded once and merged in one pass.
+     */
+    private static long[] matchPrefix(NavigableMap<String, PostingList> postings, String token) {
+        Collection<PostingList> matches = postings.subMap(token, true, token + Character.MAX_VALUE, false).values();
+        List<long[]> ids = new ArrayList<>(matches.size());
+        for (PostingList postingList : matches) {
+            ids.add(postingList.toArray());
+        }
+        return PostingList.union(ids);
+    }
+
+    private void add(long id, String name, String description) {
+        List<String> nameTokens = SearchTokenizer.tokenize(name);
+        List<String> tokens = SearchTokenizer.tokenize(name + " " + description);
+        add(postings, itemTokens, id, tokens);
+        add(namePostings, itemNameTokens, id, nameTokens);
+    }
+
+    private void delete(long id) {
+        delete(postings, itemTokens, id);
+        delete(namePostings, itemNameTokens, id);
+    }
+
+    private static void add(Map<String, PostingList> postings, Map<Long, List<String>> itemTokens,
+                            long id, List<String> tokens) {
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, key -> new PostingList()).add(id);
+        }
+        itemTokens.put(id, tokens);
+    }
+
+    private static void delete(Map<String, PostingList> postings, Map<Long, List<String>> itemTokens, long id) {
+        List<String> tokens = itemTokens.remove(id);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            PostingList postingList = postings.get(token);
+            postingList.remove(id);
+            if (postingList.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Unmanaged projection used to stream the items table into the in-memory index.
+ */
+@Getter
+@AllArgsConstructor
+public class IndexedItem {
+    private final Long id;
+    private final String name;
+    private final String description;
+}
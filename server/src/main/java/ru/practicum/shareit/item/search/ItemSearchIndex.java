@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Search backend used by {@code GET /items/search}.
+ * Implementations return only available items, most relevant first.
+ * The active implementation is chosen by the {@code shareit.search.engine} property.
+ */
+public interface ItemSearchIndex {
+
+    List<Item> search(String text, Pageable pageable);
+
+    /**
+     * Called after an item is created or updated. Database-backed indexes need no bookkeeping.
+     */
+    default void index(Item item) {
+    }
+
+    /**
+     * Called after an item is deleted.
+     */
+    default void remove(long itemId) {
+    }
+
+    /**
+     * Called before a user is deleted, the items of the user are deleted by the database cascade.
+     */
+    default void removeByOwner(long ownerId) {
+    }
+}
@@ -0,0 +1,232 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sorted set of item ids stored as variable-length encoded deltas.
+ * Ids are handed out in increasing order, so the common case of indexing a new item is an append,
+ * other updates rewrite only the affected deltas and shift the tail of the encoded bytes.
+ * Not thread-safe, callers synchronize.
+ */
+final class PostingList {
+    private static final long[] EMPTY = new long[0];
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int size;
+    private long last = -1;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(long id) {
+        if (id > last) {
+            append(id);
+            return;
+        }
+        // find the first id above the new one and split its delta in two
+        long previous = 0;
+        int offset = 0;
+        while (true) {
+            int next = skip(offset);
+            long current = previous + read(offset);
+            if (current == id) {
+                return;
+            }
+            if (current > id) {
+                splice(offset, next, id - previous, current - id);
+                size++;
+                return;
+            }
+            previous = current;
+            offset = next;
+        }
+    }
+
+    void remove(long id) {
+        if (id > last) {
+            return;
+        }
+        long previous = 0;
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            int next = skip(offset);
+            long current = previous + read(offset);
+            if (current > id) {
+                return;
+            }
+            if (current == id) {
+                if (next == length) {
+                    splice(offset, next);
+                    last = i == 0 ? -1 : previous;
+                } else {
+                    // the following id keeps its value, its delta now starts from the previous id
+                    splice(offset, skip(next), current + read(next) - previous);
+                }
+                size--;
+                return;
+            }
+            previous = current;
+            offset = next;
+        }
+    }
+
+    long[] toArray() {
+        if (size == 0) {
+            return EMPTY;
+        }
+        long[] ids = new long[size];
+        long previous = 0;
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += delta;
+            ids[i] = previous;
+        }
+        return ids;
+    }
+
+    static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    static long[] union(long[] left, long[] right) {
+        return union(List.of(left, right));
+    }
+
+    /**
+     * Merges any number of sorted id arrays in one pass, ids found in several arrays are kept once.
+     */
+    static long[] union(List<long[]> lists) {
+        if (lists.isEmpty()) {
+            return EMPTY;
+        }
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        int total = 0;
+        for (long[] ids : lists) {
+            total += ids.length;
+        }
+        int[] positions = new int[lists.size()];
+        PriorityQueue<Integer> heads = new PriorityQueue<>(lists.size(),
+                Comparator.comparingLong(list -> lists.get(list)[positions[list]]));
+        for (int list = 0; list < lists.size(); list++) {
+            if (lists.get(list).length > 0) {
+                heads.add(list);
+            }
+        }
+        long[] result = new long[total];
+        int count = 0;
+        while (!heads.isEmpty()) {
+            int list = heads.poll();
+            long[] ids = lists.get(list);
+            long next = ids[positions[list]++];
+            if (count == 0 || result[count - 1] != next) {
+                result[count++] = next;
+            }
+            if (positions[list] < ids.length) {
+                heads.add(list);
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Replaces the encoded bytes between from and to with the given deltas, shifting the tail in place.
+     */
+    private void splice(int from, int to, long... deltas) {
+        int replacement = 0;
+        for (long delta : deltas) {
+            replacement += encodedLength(delta);
+        }
+        int updatedLength = length - (to - from) + replacement;
+        if (updatedLength > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, updatedLength));
+        }
+        System.arraycopy(data, to, data, from + replacement, length - to);
+        int offset = from;
+        for (long delta : deltas) {
+            offset = write(offset, delta);
+        }
+        length = updatedLength;
+    }
+
+    private long read(int offset) {
+        long delta = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[offset++];
+            delta |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return delta;
+    }
+
+    private int skip(int offset) {
+        int next = offset;
+        while (data[next] < 0) {
+            next++;
+        }
+        return next + 1;
+    }
+
+    private int write(int offset, long delta) {
+        while ((delta & ~0x7FL) != 0) {
+            data[offset++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        data[offset++] = (byte) delta;
+        return offset;
+    }
+
+    private static int encodedLength(long delta) {
+        int bytes = 1;
+        while ((delta & ~0x7FL) != 0) {
+            delta >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+    private void append(long id) {
+        long delta = size == 0 ? id : id - last;
+        if (length + 10 > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        length = write(length, delta);
+        last = id;
+        size++;
+    }
+}
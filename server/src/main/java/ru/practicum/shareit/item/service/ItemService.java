@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.service;
 
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.NewCommentDto;
 import ru.practicum.shareit.item.dto.NewItemDto;
@@ -11,6 +12,8 @@ import java.util.List;
 public interface ItemService {
     ItemDto addNewItem(long userId, NewItemDto item);
 
+    List<ItemBatchResultDto> addNewItems(long userId, List<NewItemDto> items);
+
     List<ItemDto> getItems(long userId, int from, int size);
 
     ItemDto get(long itemId, long userId);
@@ -1,16 +1,23 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.common.exception.ObjectNotFoundException;
 import ru.practicum.shareit.common.exception.ValidationException;
+import ru.practicum.shareit.common.metrics.MetricsConfiguration;
 import ru.practicum.shareit.common.pagination.CustomPageRequest;
+import ru.practicum.shareit.item.cache.ItemDetails;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.NewCommentDto;
 import ru.practicum.shareit.item.dto.NewItemDto;
@@ -20,31 +27,38 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(MetricsConfiguration.SERVICE_TIMER)
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserIdRegistry userIdRegistry;
     private final ItemRequestRepository itemRequestRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemDetailsCache itemDetailsCache;
 
     @Override
     public List<ItemDto> getItems(long userId, int from, int size) {
-        getUser(userId);
+        checkUser(userId);
         Pageable pageRequest = CustomPageRequest.of(from, size, Sort.unsorted());
         List<Item> items = itemRepository.findAllByOwnerIdOrderById(userId, pageRequest);
         return mergeBookingsAndComments(items);
@@ -52,6 +66,11 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ItemDto get(long itemId, long userId) {
+        ItemDetails cached = itemDetailsCache.get(itemId);
+        if (cached != null && cached.getOwnerId() != userId) {
+            return cached.copyOfItem();
+        }
+        long generation = itemDetailsCache.generation();
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ObjectNotFoundException("item is not found"));
         if (item.getOwner().getId().equals(userId)) {
@@ -60,7 +79,9 @@ public class ItemServiceImpl implements ItemService {
         } else {
             ItemDto itemDto = itemMapper.toDto(item);
             itemDto.getComments().addAll(commentMapper.toDtoList(commentRepository.findAllByItemId(itemId)));
-            return itemDto;
+            ItemDetails itemDetails = new ItemDetails(item.getOwner().getId(), itemDto);
+            itemDetailsCache.put(itemId, itemDetails, generation);
+            return itemDetails.copyOfItem();
         }
     }
 
@@ -71,23 +92,66 @@ public class ItemServiceImpl implements ItemService {
         itemModel.setOwner(user);
         addRequestToItem(newItemDto, itemModel);
         Item newItem = itemRepository.save(itemModel);
+        itemSearchIndex.index(newItem);
         return itemMapper.toDto(newItem);
     }
 
+    @Override
+    public List<ItemBatchResultDto> addNewItems(long userId, List<NewItemDto> newItemDtos) {
+        User user = getUser(userId);
+        Set<Long> requestIds = newItemDtos.stream()
+                .map(NewItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty()
+                ? Collections.emptyMap()
+                : itemRequestRepository.findAllById(requestIds)
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        List<Item> items = new ArrayList<>(newItemDtos.size());
+        List<ItemBatchResultDto> results = new ArrayList<>(newItemDtos.size());
+        for (NewItemDto newItemDto : newItemDtos) {
+            Long requestId = newItemDto.getRequestId();
+            if (requestId != null && !requests.containsKey(requestId)) {
+                results.add(ItemBatchResultDto.rejected("item request is not found"));
+                continue;
+            }
+            Item itemModel = itemMapper.toModel(newItemDto);
+            itemModel.setOwner(user);
+            itemModel.setRequest(requests.get(requestId));
+            items.add(itemModel);
+            results.add(null);
+        }
+        // ids come from the pooled sequence, the rows themselves are flushed in JDBC batches on commit
+        Iterator<Item> savedItems = itemRepository.saveAll(items).iterator();
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                Item newItem = savedItems.next();
+                itemSearchIndex.index(newItem);
+                results.set(i, ItemBatchResultDto.created(itemMapper.toDto(newItem)));
+            }
+        }
+        return results;
+    }
+
     @Override
     public void deleteItem(long userId, long itemId) {
-        getUser(userId);
+        confirmUser(userId);
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ObjectNotFoundException("item is not found"));
         if (!item.getOwner().getId().equals(userId)) {
             throw new ValidationException("you can not delete that item");
         }
         itemRepository.deleteById(itemId);
+        itemSearchIndex.remove(itemId);
+        itemDetailsCache.evict(itemId);
     }
 
     @Override
+    @Retryable(value = OptimisticLockingFailureException.class, maxAttempts = 3,
+            backoff = @Backoff(delay = 20, maxDelay = 200, random = true))
     public ItemDto patchItem(long userId, NewItemDto itemDto, long itemId) {
-        getUser(userId);
+        confirmUser(userId);
         Item itemFromDB = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ObjectNotFoundException("item is not found"));
         if (!itemFromDB.getOwner().getId().equals(userId)) {
@@ -104,6 +168,8 @@ public class ItemServiceImpl implements ItemService {
             itemFromDB.setAvailable(itemDto.getAvailable());
         }
         Item updatedItem = itemRepository.save(itemFromDB);
+        itemSearchIndex.index(updatedItem);
+        itemDetailsCache.evict(itemId);
         return itemMapper.toDto(updatedItem);
     }
 
@@ -113,7 +179,7 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         }
         Pageable pageRequest = CustomPageRequest.of(from, size, Sort.unsorted());
-        return itemRepository.findAllByNameOrDescription("%" + text.toLowerCase() + "%", pageRequest)
+        return itemSearchIndex.search(text, pageRequest)
                 .stream()
                 .map(itemMapper::toDto)
                 .collect(Collectors.toList());
@@ -134,6 +200,7 @@ public class ItemServiceImpl implements ItemService {
                 .created(LocalDateTime.now())
                 .build();
         Comment savedComment = commentRepository.save(comment);
+        itemDetailsCache.evict(itemId);
         return commentMapper.toDto(savedComment);
     }
 
@@ -142,6 +209,18 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new ObjectNotFoundException("User is not found"));
     }
 
+    private void checkUser(long userId) {
+        if (!userIdRegistry.exists(userId)) {
+            throw new ObjectNotFoundException("User is not found");
+        }
+    }
+
+    private void confirmUser(long userId) {
+        if (!userIdRegistry.confirm(userId)) {
+            throw new ObjectNotFoundException("User is not found");
+        }
+    }
+
     private Item getItem(final long itemId) {
         return itemRepository.findById(itemId)
                 .orElseThrow(() -> new ObjectNotFoundException("Item is not found"));
@@ -151,43 +230,34 @@ public class ItemServiceImpl implements ItemService {
         List<Long> itemIds = items.stream()
                 .map(Item::getId)
                 .collect(Collectors.toList());
-        List<Booking> bookings = bookingRepository.findAllByItemIdIn(itemIds, BookingStatus.APPROVED);
-        if (bookings.isEmpty()) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = groupByItemId(bookingRepository.findLastApprovedByItemIdIn(itemIds, now));
+        Map<Long, Booking> nextBookings = groupByItemId(bookingRepository.findNextApprovedByItemIdIn(itemIds, now));
+        if (lastBookings.isEmpty() && nextBookings.isEmpty()) {
             return itemMapper.toDtoList(items);
         }
         List<Comment> comments = commentRepository.findAllByItemIdIn(itemIds);
-        Map<Long, List<Booking>> bookingsMap = bookings
-                .stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(), Collectors.toList()));
         Map<Long, List<Comment>> commentsMap = comments
                 .stream()
                 .collect(Collectors.groupingBy(comment -> comment.getItem().getId(), Collectors.toList()));
         List<ItemDto> result = new ArrayList<>();
         for (Item item : items) {
             ItemDto itemDto = itemMapper.toDto(item);
-            List<Booking> itemBookings = bookingsMap.computeIfAbsent(item.getId(), k -> new ArrayList<>());
             List<Comment> itemComments = commentsMap.computeIfAbsent(item.getId(), k -> new ArrayList<>());
             itemDto.getComments().addAll(commentMapper.toDtoList(itemComments));
-
-            Booking nextBooking = itemBookings.stream()
-                    .filter(booking -> booking.getStart().isAfter(LocalDateTime.now())
-                            && booking.getStatus().equals(BookingStatus.APPROVED))
-                    .min(Comparator.comparing(Booking::getStart))
-                    .orElse(null);
-
-            Booking lastBooking = itemBookings.stream()
-                    .filter(booking -> booking.getStart().isBefore(LocalDateTime.now()) &&
-                            booking.getStatus().equals(BookingStatus.APPROVED))
-                    .max(Comparator.comparing(Booking::getEnd))
-                    .orElse(null);
-
-            itemDto.setLastBooking(itemMapper.toItemBookingDto(lastBooking));
-            itemDto.setNextBooking(itemMapper.toItemBookingDto(nextBooking));
+            itemDto.setLastBooking(itemMapper.toItemBookingDto(lastBookings.get(item.getId())));
+            itemDto.setNextBooking(itemMapper.toItemBookingDto(nextBookings.get(item.getId())));
             result.add(itemDto);
         }
         return result;
     }
 
+    private Map<Long, Booking> groupByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first));
+    }
+
     private void addRequestToItem(NewItemDto itemDto, Item item) {
         Long requestId = itemDto.getRequestId();
         if (requestId != null) {
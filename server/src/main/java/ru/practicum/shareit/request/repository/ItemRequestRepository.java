@@ -1,25 +1,32 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    @Query(value = "SELECT ir FROM ItemRequest ir " +
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT ir.id FROM ItemRequest ir WHERE ir.user.id <> ?1")
+    List<Long> findAvailableRequestIds(long userId, Pageable pageable);
+
+    @Query("SELECT DISTINCT ir FROM ItemRequest ir " +
             "LEFT JOIN FETCH ir.items i " +
-            "JOIN ir.user r " +
-            "WHERE r.id != ?1",
-            countQuery = "SELECT COUNT(ir) FROM ItemRequest ir " +
-                    "LEFT JOIN ir.items i " +
-                    "JOIN ir.user r " +
-                    "WHERE r.id != ?1 " +
-                    "GROUP BY ir.created")
-    Page<ItemRequest> findAvailableRequests(long userId, Pageable pageable);
+            "WHERE ir.id IN ?1")
+    List<ItemRequest> findAllWithItemsByIdIn(List<Long> requestIds);
+
+    @Query("SELECT ir FROM ItemRequest ir " +
+            "LEFT JOIN FETCH ir.items i " +
+            "WHERE ir.id = ?1")
+    Optional<ItemRequest> findWithItemsById(Long requestId);
 
     @Query("SELECT ir FROM ItemRequest ir " +
             "LEFT JOIN FETCH ir.items i " +
@@ -1,12 +1,13 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.common.exception.ObjectNotFoundException;
+import ru.practicum.shareit.common.metrics.MetricsConfiguration;
 import ru.practicum.shareit.common.pagination.CustomPageRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewItemRequestDto;
@@ -14,18 +15,26 @@ import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(MetricsConfiguration.SERVICE_TIMER)
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     public static final Sort REQUEST_SORTING = Sort.by("created").descending();
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
+    private final UserIdRegistry userIdRegistry;
     private final ItemRequestMapper itemRequestMapper;
 
     @Override
@@ -39,23 +48,34 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestDto> getUserItemRequests(Long userId) {
-        getUser(userId);
+        checkUser(userId);
         List<ItemRequest> requests = itemRequestRepository.getUserItemRequests(userId, REQUEST_SORTING);
         return itemRequestMapper.toDtoList(requests);
     }
 
     @Override
     public List<ItemRequestDto> getAvailableItemRequests(Long userId, int from, int size) {
-        getUser(userId);
+        checkUser(userId);
         Pageable pageRequest = CustomPageRequest.of(from, size, REQUEST_SORTING);
-        Page<ItemRequest> requests = itemRequestRepository.findAvailableRequests(userId, pageRequest);
-        return itemRequestMapper.toDtoList(requests.getContent());
+        // page over ids only, fetching items together with the page would make Hibernate paginate in memory
+        List<Long> requestIds = itemRequestRepository.findAvailableRequestIds(userId, pageRequest);
+        if (requestIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, ItemRequest> requests = itemRequestRepository.findAllWithItemsByIdIn(requestIds)
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        return itemRequestMapper.toDtoList(requestIds.stream()
+                .map(requests::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
     }
 
     @Override
     public ItemRequestDto get(Long userId, Long requestId) {
-        getUser(userId);
-        ItemRequest itemRequest = itemRequestRepository.findById(requestId)
+        checkUser(userId);
+        // items are fetched with the request, the service has no transaction to load them lazily in
+        ItemRequest itemRequest = itemRequestRepository.findWithItemsById(requestId)
                 .orElseThrow(() -> new ObjectNotFoundException("Request is not found"));
         return itemRequestMapper.toDto(itemRequest);
     }
@@ -64,4 +84,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new ObjectNotFoundException("User is not found"));
     }
+
+    private void checkUser(long userId) {
+        if (!userIdRegistry.exists(userId)) {
+            throw new ObjectNotFoundException("User is not found");
+        }
+    }
 }
\ No newline at end of file
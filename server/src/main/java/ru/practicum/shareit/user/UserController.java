@@ -1,18 +1,31 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.common.pagination.IdCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
+
+import static ru.practicum.shareit.common.model.Constants.MIN_SIZE;
+import static ru.practicum.shareit.common.model.Constants.NEXT_CURSOR_HEADER;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/users")
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/{userId}")
     public UserDto getUser(@PathVariable Long userId) {
@@ -25,9 +38,42 @@ public class UserController {
         userService.delete(userId);
     }
 
-    @GetMapping
-    public List<UserDto> getAllUsers() {
-        return userService.getAllUsers();
+    @GetMapping(params = "size")
+    public ResponseEntity<List<UserDto>> getUsers(@RequestParam(defaultValue = MIN_SIZE) int from,
+                                                  @RequestParam int size,
+                                                  @RequestParam(required = false) String cursor) {
+        List<UserDto> users = userService.getUsers(from, size, cursor);
+        if (users.size() < size) {
+            return ResponseEntity.ok(users);
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, IdCursor.encode(users.get(users.size() - 1).getId()))
+                .body(users);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllUsers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> {
+                    try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                        generator.writeStartArray();
+                        userService.forEachUser(writeTo(generator, false));
+                        generator.writeEndArray();
+                    }
+                });
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> {
+                    try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                        generator.setRootValueSeparator(null);
+                        userService.forEachUser(writeTo(generator, true));
+                    }
+                });
     }
 
     @PostMapping
@@ -40,4 +86,17 @@ public class UserController {
                              @PathVariable long userId) {
         return userService.patch(user, userId);
     }
-}
\ No newline at end of file
+
+    private static Consumer<UserDto> writeTo(JsonGenerator generator, boolean lineDelimited) {
+        return user -> {
+            try {
+                generator.writeObject(user);
+                if (lineDelimited) {
+                    generator.writeRaw('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.user.registry;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.transaction.AfterCommit;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.BitSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap of user ids known to exist, indexed by id, so validating the caller of a request is a bit lookup.
+ * UserServiceImpl reports creations and deletions after commit. Unknown ids are checked with a count query
+ * and remembered when found, which also covers users inserted past the service. Ids beyond the bitmap range
+ * always go to the database.
+ * The bitmap only sees the changes made through this instance, so a user deleted by another server instance
+ * still passes exists. A hit is therefore only trusted by reads; paths that write on behalf of the user call
+ * confirm, which always checks the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserIdRegistry {
+    private final UserRepository userRepository;
+
+    private final BitSet ids = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long removals;
+
+    public boolean exists(long userId) {
+        if (!inRange(userId)) {
+            return userRepository.existsById(userId);
+        }
+        long removalsBefore;
+        lock.readLock().lock();
+        try {
+            if (ids.get((int) userId)) {
+                return true;
+            }
+            removalsBefore = removals;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!userRepository.existsById(userId)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            // a removal committed while the row was being checked may concern this very user
+            if (removals == removalsBefore) {
+                ids.set((int) userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Checks the row even when the id is known, a user found missing is dropped from the bitmap.
+     */
+    public boolean confirm(long userId) {
+        if (userRepository.existsById(userId)) {
+            return true;
+        }
+        if (inRange(userId)) {
+            lock.writeLock().lock();
+            try {
+                removals++;
+                ids.clear((int) userId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return false;
+    }
+
+    public void add(long userId) {
+        if (!inRange(userId)) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                ids.set((int) userId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(long userId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removals++;
+                if (inRange(userId)) {
+                    ids.clear((int) userId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private static boolean inRange(long userId) {
+        return userId >= 0 && userId <= Integer.MAX_VALUE;
+    }
+}
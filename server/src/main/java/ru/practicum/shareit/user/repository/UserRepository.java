@@ -1,8 +1,29 @@
 package ru.practicum.shareit.user.repository;
 
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 public interface UserRepository extends JpaRepository<User, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u " +
+            "WHERE LOWER(u.email) = LOWER(?1) AND u.id <> ?2")
+    boolean existsByEmailIgnoreCaseAndIdNot(String email, Long userId);
+
+    @Query("SELECT u FROM User u WHERE u.id > ?1")
+    List<User> findAllByIdAfter(Long userId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new ru.practicum.shareit.user.dto.UserDto(u.id, u.email, u.name) FROM User u ORDER BY u.id")
+    Stream<UserDto> streamAll();
+}
@@ -4,9 +4,12 @@ package ru.practicum.shareit.user.service;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
-    List<UserDto> getAllUsers();
+    List<UserDto> getUsers(int from, int size, String cursor);
+
+    void forEachUser(Consumer<UserDto> action);
 
     UserDto save(UserDto user);
 
@@ -1,67 +1,100 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.common.exception.AlreadyExistException;
 import ru.practicum.shareit.common.exception.ObjectNotFoundException;
+import ru.practicum.shareit.common.exception.ValidationException;
+import ru.practicum.shareit.common.metrics.MetricsConfiguration;
+import ru.practicum.shareit.common.pagination.CustomPageRequest;
+import ru.practicum.shareit.common.pagination.IdCursor;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.transaction.Transactional;
 import java.util.List;
-import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(MetricsConfiguration.SERVICE_TIMER)
 class UserServiceImpl implements UserService {
+    public static final Sort USERS_SORTING = Sort.by("id");
     private final UserRepository repository;
     private final UserMapper userMapper;
+    private final ItemDetailsCache itemDetailsCache;
+    private final ItemSearchIndex itemSearchIndex;
+    private final UserIdRegistry userIdRegistry;
 
     @Override
-    public List<UserDto> getAllUsers() {
-        return repository.findAll()
+    public List<UserDto> getUsers(int from, int size, String cursor) {
+        long afterId = 0;
+        if (cursor != null) {
+            if (from != 0) {
+                throw new ValidationException("Parameters from and cursor can not be used together");
+            }
+            afterId = IdCursor.decode(cursor);
+        }
+        Pageable pageRequest = CustomPageRequest.of(cursor == null ? from : 0, size, USERS_SORTING);
+        return repository.findAllByIdAfter(afterId, pageRequest)
                 .stream()
                 .map(userMapper::toDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public void forEachUser(Consumer<UserDto> action) {
+        // rows are read through a JDBC cursor as unmanaged dtos, nothing piles up in the persistence context
+        try (Stream<UserDto> users = repository.streamAll()) {
+            users.forEach(action);
+        }
+    }
+
     @Override
     public UserDto save(UserDto user) {
         User userModel = userMapper.toModel(user);
-        User currentUser = repository.save(userModel);
-        return userMapper.toDto(currentUser);
+        User savedUser = saveUnique(userModel);
+        userIdRegistry.add(savedUser.getId());
+        return userMapper.toDto(savedUser);
     }
 
     @Override
     public UserDto patch(UserDto user, Long userId) {
         User userFromDB = repository.findById(userId)
                 .orElseThrow(() -> new ObjectNotFoundException("user is not found"));
-        if (user.getName() != null && !user.getName().isBlank()) {
+        if (user.getName() != null && !user.getName().isBlank() && !user.getName().equals(userFromDB.getName())) {
             userFromDB.setName(user.getName());
+            // cached item details show the name as the author of comments
+            itemDetailsCache.clear();
         }
         if (user.getEmail() != null && !user.getEmail().isBlank()) {
-            Optional<UserDto> foundUser = getAllUsers()
-                    .stream()
-                    .filter(i -> i.getEmail().equals(user.getEmail()))
-                    .findFirst();
-            if (foundUser.isPresent()) {
-                if (!foundUser.get().getId().equals(userId)) {
-                    throw new AlreadyExistException("email should be unique");
-                }
+            if (repository.existsByEmailIgnoreCaseAndIdNot(user.getEmail(), userId)) {
+                throw new AlreadyExistException("email should be unique");
             }
             userFromDB.setEmail(user.getEmail());
         }
-        User currentUser = repository.save(userFromDB);
-        return userMapper.toDto(currentUser);
+        return userMapper.toDto(saveUnique(userFromDB));
     }
 
     @Override
     public void delete(long userId) {
+        itemSearchIndex.removeByOwner(userId);
         repository.deleteById(userId);
+        userIdRegistry.remove(userId);
+        // owned items and comments go away with the user
+        itemDetailsCache.clear();
     }
 
     @Override
@@ -70,4 +103,13 @@ class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ObjectNotFoundException("user is not found"));
         return userMapper.toDto(user);
     }
+
+    private User saveUnique(User user) {
+        // the unique email index is the final arbiter when two requests claim the same email concurrently
+        try {
+            return repository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new AlreadyExistException("email should be unique");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+CREATE INDEX IF NOT EXISTS items_search_idx ON items
+    USING gin ((setweight(to_tsvector('simple', name), 'A') || setweight(to_tsvector('simple', description), 'B')));
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- rejects overlapping WAITING/APPROVED bookings of the same item even for writes that bypass the service;
+-- skipped with a notice while legacy rows still overlap
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''bookings_no_overlap'') THEN
+        IF EXISTS (SELECT 1
+                   FROM bookings a
+                            JOIN bookings b ON a.item_id = b.item_id AND a.id < b.id
+                   WHERE a.status IN (''WAITING'', ''APPROVED'')
+                     AND b.status IN (''WAITING'', ''APPROVED'')
+                     AND tsrange(a.start_date, a.end_date) && tsrange(b.start_date, b.end_date)) THEN
+            RAISE NOTICE ''bookings_no_overlap is not created: overlapping bookings exist'';
+        ELSE
+            ALTER TABLE bookings
+                ADD CONSTRAINT bookings_no_overlap
+                    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+                    WHERE (status IN (''WAITING'', ''APPROVED''));
+        END IF;
+    END IF;
+END';
+
+-- case-insensitive email uniqueness, also serves the LOWER(email) lookup in UserRepository;
+-- skipped with a notice while legacy rows differ only in case
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_indexes WHERE indexname = ''users_email_lower_uq'') THEN
+        IF EXISTS (SELECT 1 FROM users GROUP BY lower(email) HAVING COUNT(*) > 1) THEN
+            RAISE NOTICE ''users_email_lower_uq is not created: emails differing only in case exist'';
+        ELSE
+            CREATE UNIQUE INDEX users_email_lower_uq ON users (lower(email));
+        END IF;
+    END IF;
+END';
+
+-- moves the id sequences past rows inserted while the ids came from the identity columns,
+-- so the next block handed out by the pooled optimizer starts above max(id)
+DO '
+DECLARE
+    tbl    TEXT;
+    seq    REGCLASS;
+    max_id BIGINT;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY [''users'', ''item_requests'', ''items'', ''bookings'', ''comments'']
+        LOOP
+            seq := (tbl || ''_seq'')::regclass;
+            EXECUTE format(''SELECT COALESCE(MAX(id), 0) FROM %I'', tbl) INTO max_id;
+            IF max_id > COALESCE(pg_sequence_last_value(seq), 0) THEN
+                PERFORM setval(seq, max_id);
+            END IF;
+        END LOOP;
+END';
+
+-- items change owners only by direct writes, their bookings follow so bookings.owner_id stays consistent
+CREATE OR REPLACE FUNCTION bookings_follow_item_owner() RETURNS TRIGGER AS '
+BEGIN
+    UPDATE bookings SET owner_id = NEW.owner_id WHERE item_id = NEW.id;
+    RETURN NEW;
+END' LANGUAGE plpgsql;
+
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = ''items_owner_transfer'') THEN
+        CREATE TRIGGER items_owner_transfer
+            AFTER UPDATE OF owner_id ON items
+            FOR EACH ROW
+            WHEN (OLD.owner_id IS DISTINCT FROM NEW.owner_id)
+        EXECUTE FUNCTION bookings_follow_item_owner();
+    END IF;
+END';
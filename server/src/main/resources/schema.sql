@@ -22,6 +22,7 @@ CREATE TABLE IF NOT EXISTS items
     available   BOOLEAN                                 NOT NULL,
     owner_id    BIGINT                                  NOT NULL,
     request_id  BIGINT,
+    version     BIGINT                                  NOT NULL DEFAULT 0,
     FOREIGN KEY (owner_id) REFERENCES users (id),
     FOREIGN KEY (request_id) REFERENCES item_requests (id)
 );
@@ -31,11 +32,15 @@ CREATE TABLE IF NOT EXISTS bookings
     id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
     item_id    BIGINT                                  NOT NULL,
     user_id    BIGINT                                  NOT NULL,
+    owner_id   BIGINT                                  NOT NULL,
     status     VARCHAR(10)                             NOT NULL,
+    phase      VARCHAR(10)                             NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     end_date   TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    version    BIGINT                                  NOT NULL DEFAULT 0,
     FOREIGN KEY (item_id) REFERENCES items (id),
-    FOREIGN KEY (user_id) REFERENCES users (id)
+    FOREIGN KEY (user_id) REFERENCES users (id),
+    FOREIGN KEY (owner_id) REFERENCES users (id)
 );
 
 CREATE TABLE IF NOT EXISTS comments
@@ -47,4 +52,55 @@ CREATE TABLE IF NOT EXISTS comments
     date_created TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     FOREIGN KEY (item_id) REFERENCES items (id),
     FOREIGN KEY (author_id) REFERENCES users (id)
-);
\ No newline at end of file
+);
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_date);
+
+-- one index per BookingRepository query shape, checked against query plans by BookingRepositoryIndexTest:
+-- booker lists and their keyset order, booker lists by status
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (user_id, start_date, id);
+CREATE INDEX IF NOT EXISTS bookings_booker_status_start_idx ON bookings (user_id, status, start_date, id);
+-- last/next approved booking per item, overlap checks
+CREATE INDEX IF NOT EXISTS bookings_item_status_start_idx ON bookings (item_id, status, start_date);
+-- blocking intervals ending after now, finished bookings of an item for comments
+CREATE INDEX IF NOT EXISTS bookings_item_end_idx ON bookings (item_id, end_date);
+-- item lists of an owner
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS item_requests_created_idx ON item_requests (created);
+
+CREATE INDEX IF NOT EXISTS items_request_idx ON items (request_id);
+
+-- optimistic locking versions for tables created before the columns were introduced
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- owner of the booked item copied to bookings, filled for rows created before the column was introduced
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+UPDATE bookings SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = bookings.item_id) WHERE owner_id IS NULL;
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+-- owner lists and owner lists by status, read in keyset order without joining items
+CREATE INDEX IF NOT EXISTS bookings_owner_start_idx ON bookings (owner_id, start_date, id);
+CREATE INDEX IF NOT EXISTS bookings_owner_status_start_idx ON bookings (owner_id, status, start_date, id);
+
+-- lifecycle phase maintained by BookingPhaseScheduler, computed from the dates for rows created before the column
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS phase VARCHAR(10);
+UPDATE bookings
+SET phase = CASE
+                WHEN end_date <= LOCALTIMESTAMP THEN 'FINISHED'
+                WHEN start_date <= LOCALTIMESTAMP THEN 'ACTIVE'
+                ELSE 'UPCOMING' END
+WHERE phase IS NULL;
+ALTER TABLE bookings ALTER COLUMN phase SET NOT NULL;
+-- current, past and future lists of bookers and owners
+CREATE INDEX IF NOT EXISTS bookings_booker_phase_start_idx ON bookings (user_id, phase, start_date, id);
+CREATE INDEX IF NOT EXISTS bookings_owner_phase_start_idx ON bookings (owner_id, phase, start_date, id);
+-- bookings the scheduler has to move next
+CREATE INDEX IF NOT EXISTS bookings_phase_start_idx ON bookings (phase, start_date);
+CREATE INDEX IF NOT EXISTS bookings_phase_end_idx ON bookings (phase, end_date);
+
+-- ids are allocated by Hibernate in blocks of 50 (pooled optimizer), the increment must match allocationSize
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS item_requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,107 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User owner;
+
+    private Item item;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(User.builder()
+                .name("owner")
+                .email("owner@mail.com")
+                .build());
+        item = itemRepository.save(Item.builder()
+                .name("drill")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findUserByIdIsServedFromCache() {
+        userRepository.findById(owner.getId());
+        userRepository.findById(owner.getId());
+
+        assertThat(statistics.getPrepareStatementCount(), is(0L));
+        assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount(), is(2L));
+    }
+
+    @Test
+    void updatedItemIsReadFromCache() {
+        item.setName("saw");
+        itemRepository.save(item);
+        statistics.clear();
+
+        Item cached = itemRepository.findById(item.getId()).orElseThrow();
+
+        assertThat(cached.getName(), is("saw"));
+        assertThat(statistics.getPrepareStatementCount(), is(0L));
+    }
+
+    @Test
+    void ownerItemsQueryIsCachedUntilItemsChange() {
+        PageRequest page = PageRequest.of(0, 10);
+        itemRepository.findAllByOwnerIdOrderById(owner.getId(), page);
+        List<Item> items = itemRepository.findAllByOwnerIdOrderById(owner.getId(), page);
+
+        assertThat(items.size(), is(1));
+        assertThat(statistics.getQueryCacheHitCount(), is(1L));
+
+        itemRepository.save(Item.builder()
+                .name("saw")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+        items = itemRepository.findAllByOwnerIdOrderById(owner.getId(), page);
+
+        assertThat(items.size(), is(2));
+        assertThat(statistics.getQueryCacheHitCount(), is(1L));
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityIndexTest {
+    private static final long itemId = 1;
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+    private final LocalDateTime end = start.plusDays(1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ItemAvailabilityIndex availabilityIndex;
+
+    @BeforeEach
+    void beforeEach() {
+        availabilityIndex = new ItemAvailabilityIndex(bookingRepository, transactionManager, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void reserveUpdatesLoadedSchedule() {
+        when(bookingRepository.findBlockingIntervals(eq(itemId), any()))
+                .thenReturn(List.of());
+
+        assertThat(availabilityIndex.isFree(itemId, start, end), is(true));
+        availabilityIndex.reserve(itemId, 10L, start, end);
+
+        assertThat(availabilityIndex.isFree(itemId, start, end), is(false));
+        availabilityIndex.release(itemId, 10L);
+        assertThat(availabilityIndex.isFree(itemId, start, end), is(true));
+        verify(bookingRepository, times(1)).findBlockingIntervals(eq(itemId), any());
+    }
+
+    @Test
+    void pastWindowIsCheckedInDatabase() {
+        LocalDateTime pastStart = LocalDateTime.now().minusDays(3);
+        LocalDateTime pastEnd = pastStart.plusDays(1);
+        when(bookingRepository.findBlockingIntervals(eq(itemId), any()))
+                .thenReturn(List.of());
+        when(bookingRepository.existsOverlapping(itemId, pastStart, pastEnd))
+                .thenReturn(true);
+
+        assertThat(availabilityIndex.isFree(itemId, pastStart, pastEnd), is(false));
+        assertThat(availabilityIndex.isFree(itemId, start, end), is(true));
+        verify(bookingRepository, times(1)).existsOverlapping(any(), any(), any());
+    }
+
+    @Test
+    void reserveSkipsItemsWithoutSchedule() {
+        availabilityIndex.reserve(itemId, 10L, start, end);
+
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void reserveDuringLoadIsNotLost() throws Exception {
+        assertChangeDuringLoadIsApplied(List.of(),
+                () -> availabilityIndex.reserve(itemId, 10L, start, end), false);
+    }
+
+    @Test
+    void releaseDuringLoadIsNotLost() throws Exception {
+        assertChangeDuringLoadIsApplied(List.of(new BookedInterval(10L, start, end)),
+                () -> availabilityIndex.release(itemId, 10L), true);
+    }
+
+    /**
+     * The schedule is read before the booking change commits, the after-commit update arrives while the load
+     * is still in progress.
+     */
+    private void assertChangeDuringLoadIsApplied(List<BookedInterval> beforeCommit, Runnable afterCommit,
+                                                 boolean free) throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch loaded = new CountDownLatch(1);
+        when(bookingRepository.findBlockingIntervals(eq(itemId), any()))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    assertThat(loaded.await(5, TimeUnit.SECONDS), is(true));
+                    return beforeCommit;
+                });
+        Thread reader = new Thread(() -> availabilityIndex.isFree(itemId, start, end));
+        reader.start();
+        assertThat(loading.await(5, TimeUnit.SECONDS), is(true));
+
+        Thread writer = new Thread(afterCommit);
+        writer.start();
+        awaitBlockedOrDone(writer);
+        loaded.countDown();
+        reader.join(5000);
+        writer.join(5000);
+
+        assertThat(availabilityIndex.isFree(itemId, start, end), is(free));
+    }
+
+    private static void awaitBlockedOrDone(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() == Thread.State.NEW || thread.getState() == Thread.State.RUNNABLE) {
+            assertThat(System.nanoTime() < deadline, is(true));
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class ItemScheduleTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private ItemSchedule schedule;
+
+    @BeforeEach
+    void beforeEach() {
+        schedule = new ItemSchedule(LocalDateTime.MIN);
+        schedule.add(1L, DAY, DAY.plusDays(2));
+        schedule.add(2L, DAY.plusDays(5), DAY.plusDays(6));
+    }
+
+    @Test
+    void overlaps() {
+        assertThat(schedule.overlaps(DAY.minusDays(1), DAY.plusHours(1)), is(true));
+        assertThat(schedule.overlaps(DAY.plusDays(1), DAY.plusDays(3)), is(true));
+        assertThat(schedule.overlaps(DAY.plusHours(1), DAY.plusHours(2)), is(true));
+        assertThat(schedule.overlaps(DAY.minusDays(1), DAY.plusDays(10)), is(true));
+    }
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        assertThat(schedule.overlaps(DAY.minusDays(1), DAY), is(false));
+        assertThat(schedule.overlaps(DAY.plusDays(2), DAY.plusDays(5)), is(false));
+        assertThat(schedule.overlaps(DAY.plusDays(6), DAY.plusDays(7)), is(false));
+    }
+
+    @Test
+    void removedIntervalIsFree() {
+        schedule.remove(1L);
+
+        assertThat(schedule.overlaps(DAY, DAY.plusDays(2)), is(false));
+        assertThat(schedule.overlaps(DAY.plusDays(5), DAY.plusDays(6)), is(true));
+    }
+
+    @Test
+    void longIntervalStartingEarlyIsFound() {
+        schedule.add(3L, DAY.minusDays(30), DAY.plusDays(30));
+
+        assertThat(schedule.overlaps(DAY.plusDays(3), DAY.plusDays(4)), is(true));
+    }
+}
@@ -11,11 +11,16 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.exception.ConflictException;
 import ru.practicum.shareit.common.exception.ObjectNotFoundException;
+import ru.practicum.shareit.common.pagination.KeysetCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,6 +31,7 @@ import static org.mockito.Mockito.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static ru.practicum.shareit.common.model.Constants.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.common.model.Constants.USER_HEADER;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -90,6 +96,19 @@ class BookingControllerTest {
         verify(bookingService, never()).create(any(), any());
     }
 
+    @Test
+    @SneakyThrows
+    void updateBookingDecidedConcurrently() {
+        when(bookingService.patch(userId, 2L, true))
+                .thenThrow(new ConflictException("Booking is already approved or rejected"));
+
+        mvc.perform(patch("/bookings/{bookingId}", 2L)
+                        .header(USER_HEADER, userId)
+                        .param("approved", "true"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errors.[0]", is("Booking is already approved or rejected")));
+    }
+
     @Test
     @SneakyThrows
     void updateBooking() {
@@ -114,6 +133,32 @@ class BookingControllerTest {
         verify(bookingService, times(1)).patch(userId, bookingId, approved);
     }
 
+    @Test
+    @SneakyThrows
+    void updateBookings() {
+        List<BookingDecisionDto> decisions = List.of(
+                new BookingDecisionDto(2L, true),
+                new BookingDecisionDto(3L, false));
+        List<BookingDecisionResultDto> results = List.of(
+                BookingDecisionResultDto.applied(BookingDto.builder().id(2L).build()),
+                BookingDecisionResultDto.failed(3L, "Booking is not found"));
+        when(bookingService.patchAll(userId, decisions))
+                .thenReturn(results);
+
+        mvc.perform(patch("/bookings/batch")
+                        .header(USER_HEADER, userId)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(decisions)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(results)))
+                .andExpect(jsonPath("$[0].booking.id", is(2)))
+                .andExpect(jsonPath("$[1].bookingId", is(3)))
+                .andExpect(jsonPath("$[1].error", is("Booking is not found")));
+
+        verify(bookingService, times(1)).patchAll(userId, decisions);
+    }
+
     @Test
     @SneakyThrows
     void getBookingById() {
@@ -170,7 +215,7 @@ class BookingControllerTest {
         BookingState state = BookingState.FUTURE;
         int from = 0;
         int size = 50;
-        when(bookingService.findAll(userId, state, from, size))
+        when(bookingService.findAll(userId, state, from, size, null))
                 .thenReturn(List.of(bookingDto));
 
         mvc.perform(get("/bookings")
@@ -189,7 +234,7 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.[0].start", is(bookingDto.getStart())))
                 .andExpect(jsonPath("$.[0].end", is(bookingDto.getEnd())));
 
-        verify(bookingService, times(1)).findAll(userId, state, from, size);
+        verify(bookingService, times(1)).findAll(userId, state, from, size, null);
     }
 
     @Test
@@ -198,7 +243,7 @@ class BookingControllerTest {
         BookingState state = BookingState.FUTURE;
         int from = 1;
         int size = 5;
-        when(bookingService.findAllOwnerBookings(userId, state, from, size))
+        when(bookingService.findAllOwnerBookings(userId, state, from, size, null))
                 .thenReturn(List.of(bookingDto));
 
         mvc.perform(get("/bookings/owner")
@@ -217,6 +262,64 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.[0].start", is(bookingDto.getStart())))
                 .andExpect(jsonPath("$.[0].end", is(bookingDto.getEnd())));
 
-        verify(bookingService, times(1)).findAllOwnerBookings(userId, state, from, size);
+        verify(bookingService, times(1)).findAllOwnerBookings(userId, state, from, size, null);
+    }
+
+    @Test
+    @SneakyThrows
+    void findAllBookingsReturnsNextCursor() {
+        BookingDto lastBooking = BookingDto.builder()
+                .id(7L)
+                .start(LocalDateTime.of(2030, 1, 1, 12, 0))
+                .build();
+        String cursor = KeysetCursor.of(LocalDateTime.of(2030, 2, 1, 12, 0), 9L).encode();
+        when(bookingService.findAll(userId, BookingState.ALL, 0, 1, cursor))
+                .thenReturn(List.of(lastBooking));
+
+        mvc.perform(get("/bookings")
+                        .header(USER_HEADER, userId)
+                        .param("size", "1")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER,
+                        KeysetCursor.of(lastBooking.getStart(), lastBooking.getId()).encode()));
+    }
+
+    @Test
+    @SneakyThrows
+    void findAllBookingsLastPageHasNoCursor() {
+        when(bookingService.findAll(userId, BookingState.ALL, 0, 50, null))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings")
+                        .header(USER_HEADER, userId))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    @SneakyThrows
+    void checkAvailability() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        LocalDateTime end = start.plusDays(2);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .start(start)
+                .end(end)
+                .available(true)
+                .build();
+        when(bookingService.checkAvailability(1L, start, end))
+                .thenReturn(availability);
+
+        mvc.perform(get("/bookings/availability")
+                        .param("itemId", "1")
+                        .param("start", start.toString())
+                        .param("end", end.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(jsonPath("$.itemId", is(1)))
+                .andExpect(jsonPath("$.available", is(true)));
+
+        verify(bookingService, times(1)).checkAvailability(1L, start, end);
     }
-}
\ No newline at end of file
+}
@@ -9,6 +9,8 @@ import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
@@ -24,6 +26,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -79,22 +82,24 @@ class BookingServiceIntegrationTest {
                 .available(true)
                 .owner(owner)
                 .build());
+        // the database keeps microseconds, bookings reloaded after a status update must compare equal
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         currentBookingDto = NewBookingDto.builder()
                 .itemId(item.getId())
-                .start(LocalDateTime.now().minusDays(1))
-                .end(LocalDateTime.now().plusDays(2))
+                .start(now.minusDays(1))
+                .end(now.plusDays(2))
                 .build();
 
         futureBookingDto = NewBookingDto.builder()
                 .itemId(item.getId())
-                .start(LocalDateTime.now().plusDays(1))
-                .end(LocalDateTime.now().plusDays(4))
+                .start(now.plusDays(1))
+                .end(now.plusDays(4))
                 .build();
 
         pastBookingDto = NewBookingDto.builder()
                 .itemId(item.getId())
-                .start(LocalDateTime.now().minusDays(3))
-                .end(LocalDateTime.now().minusDays(1))
+                .start(now.minusDays(3))
+                .end(now.minusDays(1))
                 .build();
     }
 
@@ -105,6 +110,23 @@ class BookingServiceIntegrationTest {
         bookingRepository.deleteAll();
     }
 
+    @Test
+    void patchAllBookings() {
+        BookingDto pastBooking = bookingService.create(booker.getId(), pastBookingDto);
+        BookingDto futureBooking = bookingService.create(booker.getId(), futureBookingDto);
+
+        List<BookingDecisionResultDto> results = bookingService.patchAll(owner.getId(), List.of(
+                new BookingDecisionDto(pastBooking.getId(), true),
+                new BookingDecisionDto(futureBooking.getId(), false),
+                new BookingDecisionDto(pastBooking.getId(), false)));
+
+        assertThat(results.get(0).getBooking().getStatus(), is(BookingStatus.APPROVED));
+        assertThat(results.get(1).getBooking().getStatus(), is(BookingStatus.REJECTED));
+        assertThat(results.get(2).getError(), is("Item is already reserved"));
+        assertThat(bookingService.get(owner.getId(), pastBooking.getId()).getStatus(), is(BookingStatus.APPROVED));
+        assertThat(bookingService.get(owner.getId(), futureBooking.getId()).getStatus(), is(BookingStatus.REJECTED));
+    }
+
     @Test
     void addBooking() {
         BookingDto addedBooking = bookingService.create(booker.getId(), currentBookingDto);
@@ -115,6 +137,31 @@ class BookingServiceIntegrationTest {
         assertThat(addedBooking.getStatus(), is(BookingStatus.WAITING));
     }
 
+    @Test
+    void addOverlappingBooking() {
+        bookingService.create(booker.getId(), futureBookingDto);
+        NewBookingDto overlappingBookingDto = NewBookingDto.builder()
+                .itemId(item.getId())
+                .start(futureBookingDto.getStart().plusDays(1))
+                .end(futureBookingDto.getEnd().plusDays(1))
+                .build();
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> bookingService.create(booker.getId(), overlappingBookingDto));
+
+        assertThat(e.getMessage(), is("Item is already booked for these dates"));
+    }
+
+    @Test
+    void checkAvailability() {
+        assertThat(bookingService.checkAvailability(item.getId(), futureBookingDto.getStart(),
+                futureBookingDto.getEnd()).getAvailable(), is(true));
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> bookingService.checkAvailability(item.getId(), futureBookingDto.getEnd(), futureBookingDto.getStart()));
+        assertThat(e.getMessage(), is("Booking is not valid"));
+    }
+
     @Test
     void addBookingByNotExistingUser() {
         ObjectNotFoundException e = assertThrows(ObjectNotFoundException.class,
@@ -234,35 +281,35 @@ class BookingServiceIntegrationTest {
     @Test
     void findAllBookingsByOwner() {
         BookingDto addedBooking = bookingService.create(booker.getId(), futureBookingDto);
-        List<BookingDto> bookings = bookingService.findAllOwnerBookings(owner.getId(), BookingState.ALL, 0, 50);
+        List<BookingDto> bookings = bookingService.findAllOwnerBookings(owner.getId(), BookingState.ALL, 0, 50, null);
         assertThat(bookings, is(List.of(addedBooking)));
     }
 
     @Test
     void findFutureBookingsByOwner() {
         BookingDto addedBooking = bookingService.create(booker.getId(), futureBookingDto);
-        List<BookingDto> bookings = bookingService.findAllOwnerBookings(owner.getId(), BookingState.FUTURE, 0, 50);
+        List<BookingDto> bookings = bookingService.findAllOwnerBookings(owner.getId(), BookingState.FUTURE, 0, 50, null);
         assertThat(bookings, is(List.of(addedBooking)));
     }
 
     @Test
     void findPastBookingsByOwner() {
         BookingDto addedBooking = bookingService.create(booker.getId(), pastBookingDto);
-        List<BookingDto> bookings = bookingService.findAllOwnerBookings(owner.getId(), BookingState.PAST, 0, 50);
+        List<BookingDto> bookings = bookingService.findAllOwnerBookings(owner.getId(), BookingState.PAST, 0, 50, null);
         assertThat(bookings, is(List.of(addedBooking)));
     }
 
     @Test
     void findCurrentBookingsByOwner() {
         BookingDto addedBooking = bookingService.create(booker.getId(), currentBookingDto);
-        List<BookingDto> bookings = bookingService.findAllOwnerBookings(owner.getId(), BookingState.CURRENT, 0, 50);
+        List<BookingDto> bookings = bookingService.findAllOwnerBookings(owner.getId(), BookingState.CURRENT, 0, 50, null);
         assertThat(bookings, is(List.of(addedBooking)));
     }
 
     @Test
     void findWaitingBookingsByOwner() {
         BookingDto addedBooking = bookingService.create(booker.getId(), currentBookingDto);
-        List<BookingDto> bookings = bookingService.findAllOwnerBookings(owner.getId(), BookingState.WAITING, 0, 50);
+        List<BookingDto> bookings = bookingService.findAllOwnerBookings(owner.getId(), BookingState.WAITING, 0, 50, null);
         assertThat(bookings, is(List.of(addedBooking)));
     }
 
@@ -270,42 +317,42 @@ class BookingServiceIntegrationTest {
     void findRejectedBookingsByOwner() {
         BookingDto addedBooking = bookingService.create(booker.getId(), futureBookingDto);
         BookingDto rejectedBooking = bookingService.patch(owner.getId(), addedBooking.getId(), false);
-        List<BookingDto> bookings = bookingService.findAllOwnerBookings(owner.getId(), BookingState.REJECTED, 0, 50);
+        List<BookingDto> bookings = bookingService.findAllOwnerBookings(owner.getId(), BookingState.REJECTED, 0, 50, null);
         assertThat(bookings, is(List.of(rejectedBooking)));
     }
 
     @Test
     void findAllBookingsByBooker() {
         BookingDto addedBooking = bookingService.create(booker.getId(), pastBookingDto);
-        List<BookingDto> bookings = bookingService.findAll(booker.getId(), BookingState.ALL, 0, 50);
+        List<BookingDto> bookings = bookingService.findAll(booker.getId(), BookingState.ALL, 0, 50, null);
         assertThat(bookings, is(List.of(addedBooking)));
     }
 
     @Test
     void findCurrentBookingsByBooker() {
         BookingDto addedBooking = bookingService.create(booker.getId(), currentBookingDto);
-        List<BookingDto> bookings = bookingService.findAll(booker.getId(), BookingState.CURRENT, 0, 50);
+        List<BookingDto> bookings = bookingService.findAll(booker.getId(), BookingState.CURRENT, 0, 50, null);
         assertThat(bookings, is(List.of(addedBooking)));
     }
 
     @Test
     void findAllPastBookingsByBooker() {
         BookingDto addedBooking = bookingService.create(booker.getId(), pastBookingDto);
-        List<BookingDto> bookings = bookingService.findAll(booker.getId(), BookingState.PAST, 0, 50);
+        List<BookingDto> bookings = bookingService.findAll(booker.getId(), BookingState.PAST, 0, 50, null);
         assertThat(bookings, is(List.of(addedBooking)));
     }
 
     @Test
     void findAllFutureBookingsByBooker() {
         BookingDto addedBooking2 = bookingService.create(booker.getId(), futureBookingDto);
-        List<BookingDto> bookings = bookingService.findAll(booker.getId(), BookingState.FUTURE, 0, 50);
+        List<BookingDto> bookings = bookingService.findAll(booker.getId(), BookingState.FUTURE, 0, 50, null);
         assertThat(bookings, is(List.of(addedBooking2)));
     }
 
     @Test
     void findAllWaitingBookingsByBooker() {
         BookingDto addedBooking = bookingService.create(booker.getId(), currentBookingDto);
-        List<BookingDto> bookings = bookingService.findAll(booker.getId(), BookingState.WAITING, 0, 50);
+        List<BookingDto> bookings = bookingService.findAll(booker.getId(), BookingState.WAITING, 0, 50, null);
         assertThat(bookings, is(List.of(addedBooking)));
     }
 
@@ -313,7 +360,7 @@ class BookingServiceIntegrationTest {
     void findAllRejectedBookingsByBooker() {
         BookingDto addedBooking = bookingService.create(booker.getId(), currentBookingDto);
         BookingDto patched = bookingService.patch(owner.getId(), addedBooking.getId(), false);
-        List<BookingDto> bookings = bookingService.findAll(booker.getId(), BookingState.REJECTED, 0, 50);
+        List<BookingDto> bookings = bookingService.findAll(booker.getId(), BookingState.REJECTED, 0, 50, null);
         assertThat(bookings, is(List.of(patched)));
     }
 
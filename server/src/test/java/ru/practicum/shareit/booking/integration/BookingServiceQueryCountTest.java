@@ -0,0 +1,194 @@
+package ru.practicum.shareit.booking.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.query.QueryCountConfiguration;
+import ru.practicum.shareit.common.query.QueryCounter;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static ru.practicum.shareit.common.query.QueryCount.selects;
+
+/**
+ * Number of statements of each BookingService method, the same for a single booking as for a page of them.
+ * Users are saved past the service, so checking the caller costs one query the first time.
+ */
+// the second level cache would hide lazy loads behind cache hits
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(QueryCountConfiguration.class)
+class BookingServiceQueryCountTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    private User owner;
+
+    private User booker;
+
+    private List<Item> items;
+
+    private List<Booking> waitingBookings;
+
+    @AfterEach
+    void afterEach() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void create(int size) {
+        seed(size);
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+        NewBookingDto newBooking = NewBookingDto.builder()
+                .itemId(items.get(0).getId())
+                .start(start)
+                .end(start.plusDays(1))
+                .build();
+
+        assertThat(queryCounter.count(() -> bookingService.create(booker.getId(), newBooking)),
+                is(selects(4).inserts(1)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void patch(int size) {
+        seed(size);
+        long bookingId = waitingBookings.get(0).getId();
+
+        assertThat(queryCounter.count(() -> bookingService.patch(owner.getId(), bookingId, true)),
+                is(selects(2).updates(1)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void patchAll(int size) {
+        seed(size);
+        List<BookingDecisionDto> decisions = waitingBookings.stream()
+                .map(booking -> new BookingDecisionDto(booking.getId(), true))
+                .collect(Collectors.toList());
+
+        assertThat(queryCounter.count(() -> bookingService.patchAll(owner.getId(), decisions)),
+                is(selects(2).updates(1)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void get(int size) {
+        seed(size);
+        long bookingId = waitingBookings.get(0).getId();
+
+        assertThat(queryCounter.count(() -> bookingService.get(booker.getId(), bookingId)),
+                is(selects(2)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void findAll(int size) {
+        seed(size);
+
+        assertThat(queryCounter.count(() -> bookingService.findAll(booker.getId(), BookingState.ALL, 0, 20, null)),
+                is(selects(2)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void findAllByPhase(int size) {
+        seed(size);
+
+        assertThat(queryCounter.count(() -> bookingService.findAll(booker.getId(), BookingState.PAST, 0, 20, null)),
+                is(selects(2)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void findAllOwnerBookings(int size) {
+        seed(size);
+
+        assertThat(queryCounter.count(() ->
+                        bookingService.findAllOwnerBookings(owner.getId(), BookingState.ALL, 0, 20, null)),
+                is(selects(2)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void checkAvailability(int size) {
+        seed(size);
+        long itemId = items.get(0).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+
+        assertThat(queryCounter.count(() -> bookingService.checkAvailability(itemId, start, start.plusDays(1))),
+                is(selects(2)));
+    }
+
+    /**
+     * Items of one owner, each with a finished approved booking and an upcoming waiting one of the same booker.
+     */
+    private void seed(int size) {
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@mail.com").build());
+        items = new ArrayList<>();
+        waitingBookings = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("drill " + i)
+                    .description("description")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            bookingRepository.save(booking(item, BookingStatus.APPROVED, now.minusDays(2), now.minusDays(1)));
+            waitingBookings.add(bookingRepository.save(
+                    booking(item, BookingStatus.WAITING, now.plusDays(1), now.plusDays(2))));
+            items.add(item);
+        }
+    }
+
+    private Booking booking(Item item, BookingStatus status, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .item(item)
+                .booker(booker)
+                .status(status)
+                .start(start)
+                .end(end)
+                .build();
+    }
+}
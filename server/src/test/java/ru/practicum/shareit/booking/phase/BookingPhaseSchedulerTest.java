@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking.phase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingPhaseSchedulerTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingPhaseScheduler scheduler;
+
+    @BeforeEach
+    void beforeEach() {
+        scheduler = new BookingPhaseScheduler(bookingRepository, transactionManager, 2);
+    }
+
+    @Test
+    void refreshMovesBookingsInBatches() {
+        when(bookingRepository.findIdsEndedBefore(eq(BookingPhase.ACTIVE), any(), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(bookingRepository.findIdsEndedBefore(eq(BookingPhase.UPCOMING), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findIdsStartedBefore(any(), any()))
+                .thenReturn(List.of(4L));
+        when(bookingRepository.updatePhase(List.of(1L, 2L), BookingPhase.FINISHED))
+                .thenReturn(2);
+        when(bookingRepository.updatePhase(List.of(3L), BookingPhase.FINISHED))
+                .thenReturn(1);
+        when(bookingRepository.updatePhase(List.of(4L), BookingPhase.ACTIVE))
+                .thenReturn(1);
+
+        scheduler.refresh();
+
+        verify(bookingRepository, times(2)).findIdsEndedBefore(eq(BookingPhase.ACTIVE), any(), any());
+        verify(bookingRepository, times(1)).findIdsStartedBefore(any(), any());
+        verify(transactionManager, times(4)).commit(any());
+    }
+
+    @Test
+    void refreshWithoutDueBookings() {
+        when(bookingRepository.findIdsEndedBefore(any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findIdsStartedBefore(any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        scheduler.refresh();
+
+        verify(bookingRepository, never()).updatePhase(any(), any());
+    }
+}
@@ -0,0 +1,248 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.common.pagination.CustomPageRequest;
+import ru.practicum.shareit.common.query.EmbeddedPostgresConfiguration;
+import ru.practicum.shareit.common.query.QueryCountConfiguration;
+import ru.practicum.shareit.common.query.QueryCounter;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static ru.practicum.shareit.booking.service.BookingServiceImpl.BOOKINGS_SORTING;
+
+/**
+ * Runs every BookingRepository query against PostgreSQL with a seeded dataset and checks that none of them
+ * is planned as a sequential scan. The SQL generated by Hibernate is captured and explained as a generic plan,
+ * the one PostgreSQL switches to for prepared statements, so the check does not depend on parameter values.
+ */
+// cache regions are shared by every context in the JVM, the seeded rows must not leak into other tests
+@DataJpaTest(properties = {
+        "spring.sql.init.platform=postgresql",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QueryCountConfiguration.class, EmbeddedPostgresConfiguration.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+// the seeded rows are committed, the embedded database must not be reused by the other plan tests
+@DirtiesContext
+class BookingRepositoryIndexTest {
+
+    private static final Pageable pageRequest = CustomPageRequest.of(0, 20, BOOKINGS_SORTING);
+
+    private static final Pageable schedulerBatch = PageRequest.of(0, 500);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeAll
+    void beforeAll() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, username, email) " +
+                    "SELECT g, 'user' || g, 'user' || g || '@mail.com' FROM generate_series(1, 2000) g");
+            statement.execute("INSERT INTO items (id, name, description, available, owner_id) " +
+                    "SELECT g, 'item' || g, 'description' || g, true, 1 + g % 2000 FROM generate_series(1, 10000) g");
+            statement.execute("INSERT INTO bookings (id, item_id, user_id, owner_id, status, phase, start_date, end_date) " +
+                    "SELECT g, 1 + g % 10000, 1 + (g * 7) % 2000, 1 + (1 + g % 10000) % 2000, " +
+                    "(ARRAY ['WAITING', 'APPROVED', 'REJECTED'])[1 + g % 3], 'UPCOMING', " +
+                    "LOCALTIMESTAMP - INTERVAL '1 year' + g * INTERVAL '5 minutes', " +
+                    "LOCALTIMESTAMP - INTERVAL '1 year' + g * INTERVAL '5 minutes' + INTERVAL '2 days' " +
+                    "FROM generate_series(1, 200000) g");
+            statement.execute("UPDATE bookings SET phase = CASE WHEN end_date <= LOCALTIMESTAMP THEN 'FINISHED' " +
+                    "WHEN start_date <= LOCALTIMESTAMP THEN 'ACTIVE' ELSE 'UPCOMING' END");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @Test
+    void getByBookingId() {
+        assertNoSequentialScans(() -> bookingRepository.getByBookingId(1L));
+    }
+
+    @Test
+    void findAllByIdIn() {
+        assertNoSequentialScans(() -> bookingRepository.findAllByIdIn(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void updateWaitingStatus() {
+        assertNoSequentialScans(() -> bookingRepository.updateWaitingStatus(List.of(1L, 2L), BookingStatus.APPROVED));
+    }
+
+    @Test
+    void findAllByItemIdAndBooker() {
+        assertNoSequentialScans(() -> bookingRepository.findAllByItemIdAndBooker(1L, 7L));
+    }
+
+    @Test
+    void findLastApprovedByItemIdIn() {
+        assertNoSequentialScans(() -> bookingRepository.findLastApprovedByItemIdIn(List.of(1L, 2L, 3L), now));
+    }
+
+    @Test
+    void findNextApprovedByItemIdIn() {
+        assertNoSequentialScans(() -> bookingRepository.findNextApprovedByItemIdIn(List.of(1L, 2L, 3L), now));
+    }
+
+    @Test
+    void findAllByItemOwnerId() {
+        assertNoSequentialScans(() ->
+                bookingRepository.findAllByItemOwnerId(1L, pageRequest));
+    }
+
+    @Test
+    void findAllByItemOwnerIdAfterCursor() {
+        assertNoSequentialScans(() ->
+                bookingRepository.findAllByItemOwnerId(1L, now, Long.MAX_VALUE, pageRequest));
+    }
+
+    @Test
+    void findByOwnerAndPhase() {
+        assertNoSequentialScans(() -> bookingRepository.findByOwnerAndPhase(
+                1L, BookingPhase.ACTIVE, pageRequest));
+    }
+
+    @Test
+    void findByOwnerAndPhaseAfterCursor() {
+        assertNoSequentialScans(() -> bookingRepository.findByOwnerAndPhase(
+                1L, BookingPhase.ACTIVE, now, Long.MAX_VALUE, pageRequest));
+    }
+
+    @Test
+    void finByOwnerAndStatus() {
+        assertNoSequentialScans(() -> bookingRepository.finByOwnerAndStatus(
+                1L, BookingStatus.WAITING, pageRequest));
+    }
+
+    @Test
+    void finByOwnerAndStatusAfterCursor() {
+        assertNoSequentialScans(() -> bookingRepository.finByOwnerAndStatus(
+                1L, BookingStatus.WAITING, now, Long.MAX_VALUE, pageRequest));
+    }
+
+    @Test
+    void findAllByBooker() {
+        assertNoSequentialScans(() ->
+                bookingRepository.findAllByBooker(7L, pageRequest));
+    }
+
+    @Test
+    void findAllByBookerAfterCursor() {
+        assertNoSequentialScans(() ->
+                bookingRepository.findAllByBooker(7L, now, Long.MAX_VALUE, pageRequest));
+    }
+
+    @Test
+    void findByBookerAndPhase() {
+        assertNoSequentialScans(() -> bookingRepository.findByBookerAndPhase(
+                7L, BookingPhase.ACTIVE, pageRequest));
+    }
+
+    @Test
+    void findByBookerAndPhaseAfterCursor() {
+        assertNoSequentialScans(() -> bookingRepository.findByBookerAndPhase(
+                7L, BookingPhase.ACTIVE, now, Long.MAX_VALUE, pageRequest));
+    }
+
+    @Test
+    void findByBookerAndStatus() {
+        assertNoSequentialScans(() -> bookingRepository.findByBookerAndStatus(
+                7L, BookingStatus.WAITING, pageRequest));
+    }
+
+    @Test
+    void findByBookerAndStatusAfterCursor() {
+        assertNoSequentialScans(() -> bookingRepository.findByBookerAndStatus(
+                7L, BookingStatus.WAITING, now, Long.MAX_VALUE, pageRequest));
+    }
+
+    @Test
+    void findIdsEndedBefore() {
+        assertNoSequentialScans(() -> bookingRepository.findIdsEndedBefore(BookingPhase.ACTIVE, now, schedulerBatch));
+    }
+
+    @Test
+    void findIdsStartedBefore() {
+        assertNoSequentialScans(() -> bookingRepository.findIdsStartedBefore(now, schedulerBatch));
+    }
+
+    @Test
+    void updatePhase() {
+        assertNoSequentialScans(() -> bookingRepository.updatePhase(List.of(1L, 2L), BookingPhase.FINISHED));
+    }
+
+    @Test
+    void existsOverlapping() {
+        assertNoSequentialScans(() -> bookingRepository.existsOverlapping(1L, now, now.plusDays(1)));
+    }
+
+    @Test
+    void findBlockingIntervals() {
+        assertNoSequentialScans(() -> bookingRepository.findBlockingIntervals(1L, now));
+    }
+
+    private void assertNoSequentialScans(Runnable query) {
+        List<String> statements = queryCounter.count(query).getStatements();
+
+        assertThat(statements, is(not(empty())));
+        for (String sql : statements) {
+            assertThat(explainGenericPlan(sql), not(containsString("Seq Scan")));
+        }
+    }
+
+    private String explainGenericPlan(String sql) {
+        StringBuilder prepared = new StringBuilder();
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++parameters);
+            } else {
+                prepared.append(c);
+            }
+        }
+        String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SET plan_cache_mode = force_generic_plan");
+            statement.execute("PREPARE query AS " + prepared);
+            StringBuilder plan = new StringBuilder(sql).append('\n');
+            try (ResultSet resultSet = statement.executeQuery("EXPLAIN EXECUTE query" + arguments)) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
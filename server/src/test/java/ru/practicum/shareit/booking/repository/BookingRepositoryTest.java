@@ -8,8 +8,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.availability.BookedInterval;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.common.pagination.CustomPageRequest;
 import ru.practicum.shareit.item.model.Item;
@@ -21,9 +24,11 @@ import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static java.time.LocalDateTime.now;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -42,6 +47,8 @@ class BookingRepositoryTest {
     private ItemRepository itemRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private TestEntityManager entityManager;
     private Item item;
     private User owner;
     private User booker;
@@ -108,6 +115,16 @@ class BookingRepositoryTest {
         assertThat(newBooking.getStatus(), is(pastBooking.getStatus()));
     }
 
+    @Test
+    void ownerIsCopiedFromItemOnInsert() {
+        entityManager.flush();
+        entityManager.clear();
+
+        Booking savedBooking = bookingRepository.findById(futureBooking.getId()).get();
+
+        assertThat(savedBooking.getOwner().getId(), is(owner.getId()));
+    }
+
     @Test
     void getByBookingIdNotFound() {
         Optional<Booking> booking = bookingRepository.getByBookingId(1000L);
@@ -121,9 +138,75 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByItemIdIn() {
-        List<Booking> bookings = bookingRepository.findAllByItemIdIn(List.of(item.getId()), BookingStatus.WAITING);
-        assertThat(bookings, is(List.of(currentBooking, futureBooking)));
+    void findLastApprovedByItemIdIn() {
+        bookingRepository.save(
+                Booking.builder()
+                        .status(BookingStatus.APPROVED)
+                        .start(LocalDateTime.now().minusDays(10))
+                        .end(LocalDateTime.now().minusDays(8))
+                        .item(item)
+                        .booker(booker)
+                        .build());
+
+        List<Booking> bookings = bookingRepository.findLastApprovedByItemIdIn(List.of(item.getId()), now());
+
+        assertThat(bookings, is(List.of(pastBooking)));
+    }
+
+    @Test
+    void findNextApprovedByItemIdIn() {
+        Booking nextBooking = bookingRepository.save(
+                Booking.builder()
+                        .status(BookingStatus.APPROVED)
+                        .start(LocalDateTime.now().plusDays(2))
+                        .end(LocalDateTime.now().plusDays(3))
+                        .item(item)
+                        .booker(booker)
+                        .build());
+        bookingRepository.save(
+                Booking.builder()
+                        .status(BookingStatus.APPROVED)
+                        .start(LocalDateTime.now().plusDays(5))
+                        .end(LocalDateTime.now().plusDays(6))
+                        .item(item)
+                        .booker(booker)
+                        .build());
+
+        List<Booking> bookings = bookingRepository.findNextApprovedByItemIdIn(List.of(item.getId()), now());
+
+        assertThat(bookings, is(List.of(nextBooking)));
+    }
+
+    @Test
+    void existsOverlapping() {
+        assertThat(bookingRepository.existsOverlapping(item.getId(), now().plusDays(3), now().plusDays(5)), is(true));
+        assertThat(bookingRepository.existsOverlapping(item.getId(), now().plusDays(5), now().plusDays(6)), is(false));
+
+        futureBooking.setStatus(BookingStatus.REJECTED);
+        currentBooking.setStatus(BookingStatus.REJECTED);
+
+        assertThat(bookingRepository.existsOverlapping(item.getId(), now().plusDays(3), now().plusDays(5)), is(false));
+    }
+
+    @Test
+    void updateWaitingStatus() {
+        int updated = bookingRepository.updateWaitingStatus(List.of(pastBooking.getId(), futureBooking.getId()),
+                BookingStatus.REJECTED);
+
+        assertThat(updated, is(1));
+        Booking rejected = bookingRepository.findById(futureBooking.getId()).orElseThrow();
+        assertThat(rejected.getStatus(), is(BookingStatus.REJECTED));
+        assertThat(rejected.getVersion(), is(futureBooking.getVersion() + 1));
+        assertThat(bookingRepository.findById(pastBooking.getId()).orElseThrow().getStatus(), is(BookingStatus.APPROVED));
+        assertThat(bookingRepository.updateWaitingStatus(List.of(futureBooking.getId()), BookingStatus.APPROVED), is(0));
+    }
+
+    @Test
+    void findBlockingIntervals() {
+        List<BookedInterval> intervals = bookingRepository.findBlockingIntervals(item.getId(), now());
+
+        assertThat(intervals.stream().map(BookedInterval::getBookingId).collect(Collectors.toList()),
+                containsInAnyOrder(currentBooking.getId(), futureBooking.getId()));
     }
 
     @Test
@@ -134,20 +217,20 @@ class BookingRepositoryTest {
 
 
     @Test
-    void findCurrentByOwnerId() {
-        List<Booking> bookings = bookingRepository.findCurrentByOwnerId(owner.getId(), now(), now(), pageRequest);
+    void findActiveByOwner() {
+        List<Booking> bookings = bookingRepository.findByOwnerAndPhase(owner.getId(), BookingPhase.ACTIVE, pageRequest);
         assertThat(bookings, is(List.of(currentBooking)));
     }
 
     @Test
-    void findPastByOwnerId() {
-        List<Booking> bookings = bookingRepository.findPastByOwnerId(owner.getId(), now(), pageRequest);
+    void findFinishedByOwner() {
+        List<Booking> bookings = bookingRepository.findByOwnerAndPhase(owner.getId(), BookingPhase.FINISHED, pageRequest);
         assertThat(bookings, is(List.of(pastBooking)));
     }
 
     @Test
-    void findFutureByOwnerId() {
-        List<Booking> bookings = bookingRepository.findFutureByOwnerId(owner.getId(), now(), pageRequest);
+    void findUpcomingByOwner() {
+        List<Booking> bookings = bookingRepository.findByOwnerAndPhase(owner.getId(), BookingPhase.UPCOMING, pageRequest);
         assertThat(bookings, is(List.of(futureBooking)));
     }
 
@@ -164,20 +247,63 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findCurrentByBooker() {
-        List<Booking> bookings = bookingRepository.findCurrentByBooker(booker.getId(), now(), now(), pageRequest);
+    void findAllByBookerAfterCursor() {
+        Booking sameStartBooking = bookingRepository.save(
+                Booking.builder()
+                        .status(BookingStatus.WAITING)
+                        .start(futureBooking.getStart())
+                        .end(futureBooking.getEnd())
+                        .item(item)
+                        .booker(booker)
+                        .build());
+        Pageable firstPage = CustomPageRequest.of(0, 2, BOOKINGS_SORTING);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Booking> page = bookingRepository.findAllByBooker(booker.getId(), firstPage);
+        assertThat(page.stream().map(Booking::getId).collect(Collectors.toList()),
+                is(List.of(sameStartBooking.getId(), futureBooking.getId())));
+
+        Booking last = page.get(page.size() - 1);
+        page = bookingRepository.findAllByBooker(booker.getId(), last.getStart(), last.getId(), firstPage);
+        assertThat(page.stream().map(Booking::getId).collect(Collectors.toList()),
+                containsInAnyOrder(currentBooking.getId(), pastBooking.getId()));
+    }
+
+    @Test
+    void findAllByBookerFirstPageHasNoUpperBound() {
+        LocalDateTime lastMinute = LocalDateTime.of(9999, 12, 31, 23, 59, 30);
+        Booking lastBooking = bookingRepository.save(
+                Booking.builder()
+                        .status(BookingStatus.WAITING)
+                        .start(lastMinute)
+                        .end(lastMinute.plusSeconds(10))
+                        .item(item)
+                        .booker(booker)
+                        .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Booking> page = bookingRepository.findAllByBooker(booker.getId(), CustomPageRequest.of(0, 1, BOOKINGS_SORTING));
+
+        assertThat(page.get(0).getId(), is(lastBooking.getId()));
+    }
+
+    @Test
+    void findActiveByBooker() {
+        List<Booking> bookings = bookingRepository.findByBookerAndPhase(booker.getId(), BookingPhase.ACTIVE, pageRequest);
         assertEquals(bookings, List.of(currentBooking));
     }
 
     @Test
-    void findPastByBooker() {
-        List<Booking> bookings = bookingRepository.findPastByBooker(booker.getId(), now(), pageRequest);
+    void findFinishedByBooker() {
+        List<Booking> bookings = bookingRepository.findByBookerAndPhase(booker.getId(), BookingPhase.FINISHED, pageRequest);
         assertThat(bookings, is(List.of(pastBooking)));
     }
 
     @Test
-    void findFutureByBooker() {
-        List<Booking> bookings = bookingRepository.findFutureByBooker(booker.getId(), now(), pageRequest);
+    void findUpcomingByBooker() {
+        List<Booking> bookings = bookingRepository.findByBookerAndPhase(booker.getId(), BookingPhase.UPCOMING, pageRequest);
         assertThat(bookings, is(List.of(futureBooking)));
     }
 
@@ -186,4 +312,34 @@ class BookingRepositoryTest {
         List<Booking> bookings = bookingRepository.findByBookerAndStatus(booker.getId(), BookingStatus.WAITING, pageRequest);
         assertThat(bookings, is(List.of(futureBooking, currentBooking)));
     }
+
+    @Test
+    void phaseIsSetOnInsert() {
+        assertThat(pastBooking.getPhase(), is(BookingPhase.FINISHED));
+        assertThat(currentBooking.getPhase(), is(BookingPhase.ACTIVE));
+        assertThat(futureBooking.getPhase(), is(BookingPhase.UPCOMING));
+    }
+
+    @Test
+    void findIdsEndedBefore() {
+        List<Long> ids = bookingRepository.findIdsEndedBefore(BookingPhase.ACTIVE, now().plusDays(5), Pageable.unpaged());
+
+        assertThat(ids, is(List.of(currentBooking.getId())));
+    }
+
+    @Test
+    void findIdsStartedBefore() {
+        List<Long> ids = bookingRepository.findIdsStartedBefore(now().plusDays(2), Pageable.unpaged());
+
+        assertThat(ids, is(List.of(futureBooking.getId())));
+    }
+
+    @Test
+    void updatePhase() {
+        int updated = bookingRepository.updatePhase(List.of(futureBooking.getId()), BookingPhase.ACTIVE);
+        entityManager.clear();
+
+        assertThat(updated, is(1));
+        assertThat(bookingRepository.findById(futureBooking.getId()).get().getPhase(), is(BookingPhase.ACTIVE));
+    }
 }
\ No newline at end of file
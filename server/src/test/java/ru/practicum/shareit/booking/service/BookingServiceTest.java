@@ -7,21 +7,36 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.exception.ConflictException;
+import ru.practicum.shareit.common.exception.ObjectNotFoundException;
+import ru.practicum.shareit.common.exception.ValidationException;
+import ru.practicum.shareit.common.pagination.KeysetCursor;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,9 +47,13 @@ class BookingServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserIdRegistry userIdRegistry;
+    @Mock
     private ItemRepository itemRepository;
     @Mock
     private BookingMapper bookingMapper;
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
     @InjectMocks
     private BookingServiceImpl bookingService;
     private Item item;
@@ -80,39 +99,206 @@ class BookingServiceTest {
                 .build();
         when(userRepository.findById(user.getId()))
                 .thenReturn(Optional.of(user));
-        when(itemRepository.findById(item.getId()))
+        when(itemRepository.findByIdForUpdate(item.getId()))
                 .thenReturn(Optional.of(item));
+        when(itemAvailabilityIndex.isFree(item.getId(), bookingDto.getStart(), bookingDto.getEnd()))
+                .thenReturn(true);
+        when(bookingRepository.save(any()))
+                .thenReturn(booking);
 
         bookingService.create(user.getId(), bookingDto);
 
         verify(userRepository, times(1)).findById(user.getId());
-        verify(itemRepository, times(1)).findById(item.getId());
+        verify(itemRepository, times(1)).findByIdForUpdate(item.getId());
+        verify(bookingRepository, times(1)).existsOverlapping(item.getId(), bookingDto.getStart(), bookingDto.getEnd());
         verify(bookingRepository, times(1)).save(any());
+        verify(itemAvailabilityIndex, times(1))
+                .reserve(item.getId(), booking.getId(), booking.getStart(), booking.getEnd());
+    }
+
+    @Test
+    void createOverlappingBooking() {
+        NewBookingDto bookingDto = NewBookingDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(2))
+                .end(LocalDateTime.now().plusDays(5))
+                .build();
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+        when(itemRepository.findByIdForUpdate(item.getId()))
+                .thenReturn(Optional.of(item));
+        when(itemAvailabilityIndex.isFree(item.getId(), bookingDto.getStart(), bookingDto.getEnd()))
+                .thenReturn(true);
+        when(bookingRepository.existsOverlapping(item.getId(), bookingDto.getStart(), bookingDto.getEnd()))
+                .thenReturn(true);
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> bookingService.create(user.getId(), bookingDto));
+
+        assertThat(e.getMessage(), is("Item is already booked for these dates"));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void rejectBookingReleasesInterval() {
+        when(userIdRegistry.confirm(itemOwner.getId()))
+                .thenReturn(true);
+        when(bookingRepository.getByBookingId(booking.getId()))
+                .thenReturn(Optional.of(booking));
+        when(bookingMapper.toDto(booking))
+                .thenReturn(new BookingDto());
+        when(bookingRepository.updateWaitingStatus(List.of(booking.getId()), BookingStatus.REJECTED))
+                .thenReturn(1);
+
+        BookingDto rejected = bookingService.patch(itemOwner.getId(), booking.getId(), false);
+
+        assertThat(rejected.getStatus(), is(BookingStatus.REJECTED));
+        verify(itemAvailabilityIndex, times(1)).release(item.getId(), booking.getId());
+    }
+
+    @Test
+    void checkAvailability() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(1);
+        when(itemRepository.findById(item.getId()))
+                .thenReturn(Optional.of(item));
+        when(itemAvailabilityIndex.isFree(item.getId(), start, end))
+                .thenReturn(false);
+
+        ItemAvailabilityDto availability = bookingService.checkAvailability(item.getId(), start, end);
+
+        assertThat(availability.getItemId(), is(item.getId()));
+        assertThat(availability.getAvailable(), is(false));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void checkAvailabilityOfNotExistingItem() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        when(itemRepository.findById(99L))
+                .thenReturn(Optional.empty());
+
+        assertThrows(ObjectNotFoundException.class,
+                () -> bookingService.checkAvailability(99L, start, start.plusDays(1)));
     }
 
     @Test
     void patchBooking() {
-        when(userRepository.findById(itemOwner.getId()))
-                .thenReturn(Optional.of(itemOwner));
+        when(userIdRegistry.confirm(itemOwner.getId()))
+                .thenReturn(true);
         when(bookingRepository.getByBookingId(booking.getId()))
                 .thenReturn(Optional.of(booking));
+        when(bookingMapper.toDto(booking))
+                .thenReturn(new BookingDto());
+        when(bookingRepository.updateWaitingStatus(List.of(booking.getId()), BookingStatus.APPROVED))
+                .thenReturn(1);
 
-        bookingService.patch(itemOwner.getId(), booking.getId(), true);
+        BookingDto bookingDto = bookingService.patch(itemOwner.getId(), booking.getId(), true);
 
-        verify(userRepository, times(1)).findById(itemOwner.getId());
+        assertThat(bookingDto.getStatus(), is(BookingStatus.APPROVED));
+        verify(userIdRegistry, times(1)).confirm(itemOwner.getId());
         verify(bookingRepository, times(1)).getByBookingId(booking.getId());
+        verify(itemAvailabilityIndex, never()).release(anyLong(), anyLong());
+    }
+
+    @Test
+    void patchBookingDecidedConcurrently() {
+        when(userIdRegistry.confirm(itemOwner.getId()))
+                .thenReturn(true);
+        when(bookingRepository.getByBookingId(booking.getId()))
+                .thenReturn(Optional.of(booking));
+        when(bookingMapper.toDto(booking))
+                .thenReturn(new BookingDto());
+        when(bookingRepository.updateWaitingStatus(List.of(booking.getId()), BookingStatus.REJECTED))
+                .thenReturn(0);
+
+        ConflictException e = assertThrows(ConflictException.class,
+                () -> bookingService.patch(itemOwner.getId(), booking.getId(), false));
+
+        assertThat(e.getMessage(), is("Booking is already approved or rejected"));
+        verify(itemAvailabilityIndex, never()).release(anyLong(), anyLong());
+    }
+
+    @Test
+    void patchAllBookings() {
+        Booking rejectedBooking = booking.toBuilder()
+                .id(2L)
+                .build();
+        Booking approvedBooking = booking.toBuilder()
+                .id(3L)
+                .status(BookingStatus.APPROVED)
+                .build();
+        when(userIdRegistry.confirm(itemOwner.getId()))
+                .thenReturn(true);
+        when(bookingRepository.findAllByIdIn(Set.of(1L, 2L, 3L, 4L)))
+                .thenReturn(List.of(booking, rejectedBooking, approvedBooking));
+        when(bookingRepository.updateWaitingStatus(any(), any()))
+                .thenReturn(1);
+        when(bookingMapper.toDto(any()))
+                .thenAnswer(invocation -> BookingDto.builder()
+                        .id(invocation.<Booking>getArgument(0).getId())
+                        .status(BookingStatus.WAITING)
+                        .build());
+
+        List<BookingDecisionResultDto> results = bookingService.patchAll(itemOwner.getId(), List.of(
+                new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(2L, false),
+                new BookingDecisionDto(3L, true),
+                new BookingDecisionDto(4L, true),
+                new BookingDecisionDto(1L, false)));
+
+        assertThat(results.size(), is(5));
+        assertThat(results.get(0).getBooking().getStatus(), is(BookingStatus.APPROVED));
+        assertThat(results.get(1).getBooking().getStatus(), is(BookingStatus.REJECTED));
+        assertThat(results.get(2).getError(), is("Item is already reserved"));
+        assertThat(results.get(3).getBookingId(), is(4L));
+        assertThat(results.get(3).getError(), is("Booking is not found"));
+        assertThat(results.get(4).getBooking(), nullValue());
+        assertThat(results.get(4).getError(), is("Item is already reserved"));
+        verify(bookingRepository, times(1)).updateWaitingStatus(List.of(1L), BookingStatus.APPROVED);
+        verify(bookingRepository, times(1)).updateWaitingStatus(List.of(2L), BookingStatus.REJECTED);
+        verify(itemAvailabilityIndex, times(1)).release(item.getId(), 2L);
+    }
+
+    @Test
+    void patchAllBookingsNotByOwner() {
+        when(userIdRegistry.confirm(user.getId()))
+                .thenReturn(true);
+        when(bookingRepository.findAllByIdIn(Set.of(booking.getId())))
+                .thenReturn(List.of(booking));
+
+        List<BookingDecisionResultDto> results = bookingService.patchAll(user.getId(),
+                List.of(new BookingDecisionDto(booking.getId(), true)));
+
+        assertThat(results.get(0).getError(), is("Booking is not found"));
+        verify(bookingRepository, never()).updateWaitingStatus(any(), any());
+    }
+
+    @Test
+    void patchAllBookingsDecidedConcurrently() {
+        when(userIdRegistry.confirm(itemOwner.getId()))
+                .thenReturn(true);
+        when(bookingRepository.findAllByIdIn(Set.of(booking.getId())))
+                .thenReturn(List.of(booking));
+        when(bookingMapper.toDto(booking))
+                .thenReturn(new BookingDto());
+        when(bookingRepository.updateWaitingStatus(List.of(booking.getId()), BookingStatus.APPROVED))
+                .thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> bookingService.patchAll(itemOwner.getId(),
+                List.of(new BookingDecisionDto(booking.getId(), true))));
     }
 
     @Test
     void getByBookingId() {
-        when(userRepository.findById(itemOwner.getId()))
-                .thenReturn(Optional.of(user));
+        when(userIdRegistry.exists(itemOwner.getId()))
+                .thenReturn(true);
         when(bookingRepository.getByBookingId(booking.getId()))
                 .thenReturn(Optional.of(booking));
 
         bookingService.get(itemOwner.getId(), booking.getId());
 
-        verify(userRepository, times(1)).findById(itemOwner.getId());
+        verify(userIdRegistry, times(1)).exists(itemOwner.getId());
         verify(bookingRepository, times(1)).getByBookingId(booking.getId());
         verify(bookingMapper, times(1)).toDto(booking);
     }
@@ -122,28 +308,64 @@ class BookingServiceTest {
         BookingState state = BookingState.ALL;
         int from = 0;
         int size = 50;
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(new User()));
+        when(userIdRegistry.exists(user.getId()))
+                .thenReturn(true);
         when(bookingRepository.findAllByItemOwnerId(anyLong(), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        bookingService.findAllOwnerBookings(user.getId(), state, from, size);
+        bookingService.findAllOwnerBookings(user.getId(), state, from, size, null);
 
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userIdRegistry, times(1)).exists(user.getId());
         verify(bookingRepository, times(1)).findAllByItemOwnerId(anyLong(), any(Pageable.class));
     }
 
     @Test
     void findAllBookings() {
         BookingState state = BookingState.ALL;
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
+        when(userIdRegistry.exists(user.getId()))
+                .thenReturn(true);
         when(bookingRepository.findAllByBooker(anyLong(), any(Pageable.class)))
                 .thenReturn(List.of(booking));
 
-        bookingService.findAll(user.getId(), state, 0, 50);
+        bookingService.findAll(user.getId(), state, 0, 50, null);
 
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userIdRegistry, times(1)).exists(user.getId());
         verify(bookingRepository, times(1)).findAllByBooker(anyLong(), any(Pageable.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllBookingsAfterCursor() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        String cursor = KeysetCursor.of(start, 7L).encode();
+        when(userIdRegistry.exists(user.getId()))
+                .thenReturn(true);
+        when(bookingRepository.findAllByBooker(eq(user.getId()), eq(start), eq(7L), any(Pageable.class)))
+                .thenReturn(List.of(booking));
+
+        bookingService.findAll(user.getId(), BookingState.ALL, 0, 10, cursor);
+
+        verify(bookingRepository, times(1))
+                .findAllByBooker(eq(user.getId()), eq(start), eq(7L), argThat(page -> page.getOffset() == 0));
+    }
+
+    @Test
+    void findAllBookingsWithCursorAndOffset() {
+        String cursor = KeysetCursor.of(LocalDateTime.now(), 7L).encode();
+        when(userIdRegistry.exists(user.getId()))
+                .thenReturn(true);
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.findAll(user.getId(), BookingState.ALL, 10, 10, cursor));
+    }
+
+    @Test
+    void findAllBookingsWithInvalidCursor() {
+        when(userIdRegistry.exists(user.getId()))
+                .thenReturn(true);
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> bookingService.findAll(user.getId(), BookingState.ALL, 0, 10, "not-a-cursor"));
+
+        assertThat(e.getMessage(), is("Cursor is not valid"));
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.common.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class MetricsTagsTest {
+
+    @AfterEach
+    void afterEach() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void endpointIsMethodAndPathPattern() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/owner");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/bookings/owner");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertThat(MetricsTags.endpoint(), is(Tag.of("endpoint", "GET /bookings/owner")));
+    }
+
+    @Test
+    void endpointKeepsPathVariablesOut() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/bookings/42");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/bookings/{bookingId}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertThat(MetricsTags.endpoint(), is(Tag.of("endpoint", "PATCH /bookings/{bookingId}")));
+    }
+
+    @Test
+    void endpointOutsideOfRequest() {
+        assertThat(MetricsTags.endpoint(), is(Tag.of("endpoint", "none")));
+    }
+
+    @Test
+    void bookingStateFromArguments() {
+        Object[] args = {1L, BookingState.CURRENT, 0, 10, null};
+
+        assertThat(MetricsTags.bookingState(args), is(Tag.of("booking.state", "CURRENT")));
+    }
+
+    @Test
+    void bookingStateWithoutStateArgument() {
+        Object[] args = {1L, 2L};
+
+        assertThat(MetricsTags.bookingState(args), is(Tag.of("booking.state", "none")));
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+class ServiceTimersTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void afterEach() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void serviceMethodsAreTimedByBookingState() {
+        UserDto user = userService.save(UserDto.builder().name("user").email("user@mail.com").build());
+
+        bookingService.findAll(user.getId(), BookingState.CURRENT, 0, 10, null);
+
+        Timer timer = meterRegistry.find(MetricsConfiguration.SERVICE_TIMER)
+                .tags("method", "findAll", "booking.state", "CURRENT", "endpoint", "none")
+                .timer();
+        assertThat(timer, is(notNullValue()));
+        assertThat(timer.count(), greaterThanOrEqualTo(1L));
+    }
+
+    @Test
+    void repositoryQueriesAreTimedByEndpoint() {
+        userService.save(UserDto.builder().name("user").email("user@mail.com").build());
+
+        Timer timer = meterRegistry.find("spring.data.repository.invocations")
+                .tags("repository", "UserRepository", "endpoint", "none")
+                .timer();
+        assertThat(timer, is(notNullValue()));
+        assertThat(timer.count(), greaterThanOrEqualTo(1L));
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.common.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodeAndDecode() {
+        KeysetCursor cursor = KeysetCursor.of(LocalDateTime.of(2030, 1, 1, 12, 0, 0, 123456000), 42L);
+
+        String token = cursor.encode();
+
+        assertThat(token.matches("[A-Za-z0-9_-]+"), is(true));
+        assertThat(KeysetCursor.decode(token), is(cursor));
+    }
+
+    @Test
+    void decodeInvalidCursor() {
+        ValidationException e = assertThrows(ValidationException.class, () -> KeysetCursor.decode("%%%"));
+
+        assertThat(e.getMessage(), is("Cursor is not valid"));
+    }
+}
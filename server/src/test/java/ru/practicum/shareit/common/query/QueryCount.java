@@ -0,0 +1,97 @@
+package ru.practicum.shareit.common.query;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Number of statements of each kind recorded by {@link QueryCounter}. Two counts are equal when the numbers
+ * match, the recorded SQL is only listed in assertion messages.
+ */
+public final class QueryCount {
+    private final int selects;
+    private final int inserts;
+    private final int updates;
+    private final int deletes;
+    private final List<String> statements;
+
+    private QueryCount(int selects, int inserts, int updates, int deletes, List<String> statements) {
+        this.selects = selects;
+        this.inserts = inserts;
+        this.updates = updates;
+        this.deletes = deletes;
+        this.statements = statements;
+    }
+
+    public static QueryCount selects(int selects) {
+        return new QueryCount(selects, 0, 0, 0, Collections.emptyList());
+    }
+
+    static QueryCount of(List<String> statements) {
+        int selects = 0;
+        int inserts = 0;
+        int updates = 0;
+        int deletes = 0;
+        for (String sql : statements) {
+            String statement = sql.trim().toLowerCase(Locale.ROOT);
+            if (statement.startsWith("insert")) {
+                inserts++;
+            } else if (statement.startsWith("update")) {
+                updates++;
+            } else if (statement.startsWith("delete")) {
+                deletes++;
+            } else {
+                selects++;
+            }
+        }
+        return new QueryCount(selects, inserts, updates, deletes, List.copyOf(statements));
+    }
+
+    public QueryCount inserts(int inserts) {
+        return new QueryCount(selects, inserts, updates, deletes, statements);
+    }
+
+    public QueryCount updates(int updates) {
+        return new QueryCount(selects, inserts, updates, deletes, statements);
+    }
+
+    public QueryCount deletes(int deletes) {
+        return new QueryCount(selects, inserts, updates, deletes, statements);
+    }
+
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        QueryCount that = (QueryCount) o;
+        return selects == that.selects && inserts == that.inserts && updates == that.updates
+                && deletes == that.deletes;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(selects, inserts, updates, deletes);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder()
+                .append(selects).append(" selects, ")
+                .append(inserts).append(" inserts, ")
+                .append(updates).append(" updates, ")
+                .append(deletes).append(" deletes");
+        for (String sql : statements) {
+            description.append(System.lineSeparator()).append("  ").append(sql);
+        }
+        return description.toString();
+    }
+}
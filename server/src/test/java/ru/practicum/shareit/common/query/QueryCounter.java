@@ -0,0 +1,42 @@
+package ru.practicum.shareit.common.query;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Statement inspector that records the SQL Hibernate prepares while an action runs on the calling thread.
+ * Statements of other threads, e.g. scheduled jobs, are not recorded. Statements sent as one JDBC batch are
+ * prepared, and counted, once. Sequence calls are left out: with pooled sequences they depend on how many ids
+ * earlier tests used up, not on the code under test.
+ */
+public class QueryCounter implements StatementInspector {
+    private final ThreadLocal<List<String>> recording = new ThreadLocal<>();
+
+    public QueryCount count(Runnable action) {
+        List<String> statements = new ArrayList<>();
+        recording.set(statements);
+        try {
+            action.run();
+        } finally {
+            recording.remove();
+        }
+        return QueryCount.of(statements);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = recording.get();
+        if (statements != null && !isSequenceCall(sql)) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    private static boolean isSequenceCall(String sql) {
+        String statement = sql.trim().toLowerCase(Locale.ROOT);
+        return statement.startsWith("call next value for") || statement.startsWith("select nextval");
+    }
+}
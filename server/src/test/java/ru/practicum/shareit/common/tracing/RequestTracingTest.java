@@ -0,0 +1,116 @@
+package ru.practicum.shareit.common.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.common.model.Constants.USER_HEADER;
+
+/**
+ * A request carrying the trace context of the gateway is traced down to its SQL statements within that trace.
+ */
+// query results cached by other contexts would leave the request without statements
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+class RequestTracingTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String GATEWAY_SPAN_ID = "00f067aa0ba902b7";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private List<MutableSpan> spans;
+
+    @AfterEach
+    void afterEach() {
+        userRepository.deleteAll();
+        spans.clear();
+    }
+
+    @Test
+    void requestIsTracedWithinGatewayTrace() throws Exception {
+        User user = userRepository.save(User.builder().name("user").email("user@mail.com").build());
+        spans.clear();
+
+        mvc.perform(get("/bookings")
+                        .header(USER_HEADER, user.getId())
+                        .header("traceparent", "00-" + TRACE_ID + "-" + GATEWAY_SPAN_ID + "-01")
+                        .param("state", "CURRENT"))
+                .andExpect(status().isOk());
+
+        List<MutableSpan> trace = spans.stream()
+                .filter(span -> TRACE_ID.equals(span.traceId()))
+                .collect(Collectors.toList());
+        MutableSpan request = find(trace, "GET /bookings");
+        MutableSpan service = find(trace, "BookingServiceImpl.findAll");
+        assertThat(request.parentId(), is(GATEWAY_SPAN_ID));
+        assertThat(service.parentId(), is(request.id()));
+        List<MutableSpan> statements = trace.stream()
+                .filter(span -> span.tag("jdbc.query") != null)
+                .collect(Collectors.toList());
+        assertThat(statements, is(not(List.of())));
+        assertThat(statements.stream().map(MutableSpan::parentId).collect(Collectors.toList()),
+                everyItem(is(service.id())));
+        assertThat(trace.stream().map(MutableSpan::name).collect(Collectors.toList()), hasItem("select"));
+    }
+
+    private static MutableSpan find(List<MutableSpan> spans, String name) {
+        MutableSpan found = spans.stream()
+                .filter(span -> name.equals(span.name()))
+                .findFirst()
+                .orElse(null);
+        assertThat(name, found, is(notNullValue()));
+        return found;
+    }
+
+    @TestConfiguration
+    static class SpanCollectorConfiguration {
+
+        @Bean
+        List<MutableSpan> spans() {
+            return new CopyOnWriteArrayList<>();
+        }
+
+        @Bean
+        SpanHandler spanCollector(List<MutableSpan> spans) {
+            return new SpanHandler() {
+                @Override
+                public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                    spans.add(span);
+                    return true;
+                }
+            };
+        }
+    }
+}
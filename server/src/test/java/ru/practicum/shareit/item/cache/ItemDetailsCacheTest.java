@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+class ItemDetailsCacheTest {
+    private static final long itemId = 1;
+
+    private final ItemDetailsCache itemDetailsCache =
+            new ItemDetailsCache(new ConcurrentMapCacheManager(ItemDetailsCache.NAME));
+
+    private final ItemDetails itemDetails = new ItemDetails(2L, new ItemDto());
+
+    @AfterEach
+    void afterEach() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void putKeepsDetailsWithoutEviction() {
+        long generation = itemDetailsCache.generation();
+
+        itemDetailsCache.put(itemId, itemDetails, generation);
+
+        assertThat(itemDetailsCache.get(itemId), is(itemDetails));
+    }
+
+    @Test
+    void putAfterEvictionDropsDetailsLoadedBefore() {
+        TransactionSynchronizationManager.initSynchronization();
+        itemDetailsCache.evict(itemId);
+        // the reader loads the old row while the writer has not committed yet
+        long generation = itemDetailsCache.generation();
+        commit();
+
+        itemDetailsCache.put(itemId, itemDetails, generation);
+
+        assertThat(itemDetailsCache.get(itemId), is(nullValue()));
+        itemDetailsCache.put(itemId, itemDetails, itemDetailsCache.generation());
+        assertThat(itemDetailsCache.get(itemId), is(notNullValue()));
+    }
+
+    @Test
+    void putAfterClearDropsDetailsLoadedBefore() {
+        long generation = itemDetailsCache.generation();
+        itemDetailsCache.clear();
+
+        itemDetailsCache.put(itemId, itemDetails, generation);
+
+        assertThat(itemDetailsCache.get(itemId), is(nullValue()));
+    }
+
+    private static void commit() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
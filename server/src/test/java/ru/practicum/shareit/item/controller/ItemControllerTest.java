@@ -7,12 +7,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.NewCommentDto;
 import ru.practicum.shareit.item.dto.NewItemDto;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.util.List;
@@ -65,6 +68,42 @@ class ItemControllerTest {
         verify(itemService, times(1)).addNewItem(userId, newItemDto);
     }
 
+    @Test
+    @SneakyThrows
+    void addNewItems() {
+        List<ItemBatchResultDto> results = List.of(
+                ItemBatchResultDto.created(itemDto),
+                ItemBatchResultDto.rejected("item request is not found"));
+        when(itemService.addNewItems(userId, List.of(newItemDto, newItemDto)))
+                .thenReturn(results);
+
+        mvc.perform(post("/items/batch")
+                        .header(USER_HEADER, userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(newItemDto, newItemDto))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(results)))
+                .andExpect(jsonPath("$[0].item.id", is(itemDto.getId().intValue())))
+                .andExpect(jsonPath("$[1].error", is("item request is not found")));
+
+        verify(itemService, times(1)).addNewItems(userId, List.of(newItemDto, newItemDto));
+    }
+
+    @Test
+    @SneakyThrows
+    void patchItemChangedConcurrently() {
+        when(itemService.patchItem(userId, newItemDto, newItemDto.getId()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, newItemDto.getId()));
+
+        mvc.perform(patch("/items/{itemId}", newItemDto.getId())
+                        .header(USER_HEADER, userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newItemDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errors.[0]", is("Object was changed concurrently, try again")));
+    }
+
     @Test
     @SneakyThrows
     void patchItem() {
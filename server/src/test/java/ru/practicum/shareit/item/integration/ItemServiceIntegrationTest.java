@@ -14,6 +14,7 @@ import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.common.exception.ObjectNotFoundException;
 import ru.practicum.shareit.common.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.NewCommentDto;
 import ru.practicum.shareit.item.dto.NewItemDto;
@@ -23,6 +24,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -84,6 +86,21 @@ class ItemServiceIntegrationTest {
         assertThat(savedItem.getAvailable(), is(newItemDto.getAvailable()));
     }
 
+    @Test
+    void addNewItems() {
+        NewItemDto unknownRequestDto = newItemDto.toBuilder()
+                .requestId(Long.MAX_VALUE)
+                .build();
+        List<ItemBatchResultDto> results = itemService.addNewItems(user.getId(),
+                List.of(newItemDto, unknownRequestDto, newItemDto));
+
+        assertThat(results.size(), is(3));
+        assertThat(results.get(0).getItem().getId(), notNullValue());
+        assertThat(results.get(1).getError(), is("item request is not found"));
+        assertThat(results.get(2).getItem().getId(), greaterThan(results.get(0).getItem().getId()));
+        assertThat(itemService.getItems(user.getId(), 0, 10).size(), is(2));
+    }
+
     @Test
     void deleteItem() {
         ItemDto savedItem = itemService.addNewItem(user.getId(), newItemDto);
@@ -179,15 +196,40 @@ class ItemServiceIntegrationTest {
         assertNull(item.getNextBooking());
     }
 
+    @Test
+    void getItemNotByOwnerAfterPatch() {
+        ItemDto savedItem = itemService.addNewItem(user.getId(), newItemDto);
+        itemService.get(savedItem.getId(), user2.getId());
+        NewItemDto itemUpdateDto = NewItemDto.builder()
+                .name("updated")
+                .build();
+        itemService.patchItem(user.getId(), itemUpdateDto, savedItem.getId());
+
+        ItemDto item = itemService.get(savedItem.getId(), user2.getId());
+
+        assertThat(item.getName(), is("updated"));
+    }
+
+    @Test
+    void getItemNotByOwnerAfterDelete() {
+        ItemDto savedItem = itemService.addNewItem(user.getId(), newItemDto);
+        itemService.get(savedItem.getId(), user2.getId());
+        itemService.deleteItem(user.getId(), savedItem.getId());
+
+        assertThrows(ObjectNotFoundException.class, () -> itemService.get(savedItem.getId(), user2.getId()));
+    }
+
     @Test
     void getItemsWithBookings() {
 
         ItemDto savedItem = itemService.addNewItem(user.getId(), newItemDto);
         long itemId = savedItem.getId();
+        // the booking is reloaded after approval, so keep the precision the database stores
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         NewBookingDto addBookingDto1 = NewBookingDto.builder()
                 .itemId(itemId)
-                .start(LocalDateTime.now().plusDays(1))
-                .end(LocalDateTime.now().plusDays(4))
+                .start(now.plusDays(1))
+                .end(now.plusDays(4))
                 .build();
         BookingDto bookingDto = bookingService.create(user2.getId(), addBookingDto1);
         bookingService.patch(user.getId(), bookingDto.getId(), true);
@@ -0,0 +1,227 @@
+package ru.practicum.shareit.item.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.query.QueryCountConfiguration;
+import ru.practicum.shareit.common.query.QueryCounter;
+import ru.practicum.shareit.item.dto.NewCommentDto;
+import ru.practicum.shareit.item.dto.NewItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static ru.practicum.shareit.common.query.QueryCount.selects;
+
+/**
+ * Number of statements of each ItemService method, the same for a single item as for a page of them.
+ * Users are saved past the service, so checking the caller costs one query the first time.
+ */
+// the second level cache would hide lazy loads behind cache hits
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(QueryCountConfiguration.class)
+class ItemServiceQueryCountTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    private User owner;
+
+    private User booker;
+
+    private ItemRequest itemRequest;
+
+    private List<Item> items;
+
+    @AfterEach
+    void afterEach() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void getItems(int size) {
+        seed(size);
+
+        assertThat(queryCounter.count(() -> itemService.getItems(owner.getId(), 0, 20)), is(selects(5)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void getByOwner(int size) {
+        seed(size);
+
+        assertThat(queryCounter.count(() -> itemService.get(items.get(0).getId(), owner.getId())), is(selects(4)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void getByOtherUser(int size) {
+        seed(size);
+
+        assertThat(queryCounter.count(() -> itemService.get(items.get(0).getId(), booker.getId())), is(selects(2)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void addNewItem(int size) {
+        seed(size);
+        NewItemDto newItem = newItem(0);
+        newItem.setRequestId(itemRequest.getId());
+
+        assertThat(queryCounter.count(() -> itemService.addNewItem(owner.getId(), newItem)),
+                is(selects(2).inserts(1)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void addNewItems(int size) {
+        seed(size);
+        List<NewItemDto> newItems = IntStream.range(0, size)
+                .mapToObj(this::newItem)
+                .peek(newItem -> newItem.setRequestId(itemRequest.getId()))
+                .collect(Collectors.toList());
+
+        assertThat(queryCounter.count(() -> itemService.addNewItems(owner.getId(), newItems)),
+                is(selects(2).inserts(1)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void patchItem(int size) {
+        seed(size);
+        NewItemDto patch = NewItemDto.builder().name("saw").build();
+
+        assertThat(queryCounter.count(() -> itemService.patchItem(owner.getId(), patch, items.get(0).getId())),
+                is(selects(2).updates(1)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void deleteItem(int size) {
+        seed(size);
+        Item item = itemRepository.save(Item.builder()
+                .name("saw")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        assertThat(queryCounter.count(() -> itemService.deleteItem(owner.getId(), item.getId())),
+                is(selects(2).deletes(1)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void search(int size) {
+        seed(size);
+
+        assertThat(queryCounter.count(() -> itemService.search("drill", 0, 20)), is(selects(1)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void addCommentToItem(int size) {
+        seed(size);
+        NewCommentDto comment = NewCommentDto.builder().text("great").build();
+        long itemId = items.get(0).getId();
+
+        assertThat(queryCounter.count(() -> itemService.addCommentToItem(booker.getId(), itemId, comment)),
+                is(selects(3).inserts(1)));
+    }
+
+    /**
+     * Items of one owner answering the same request, each with a past and a future approved booking
+     * and a comment of the booker.
+     */
+    private void seed(int size) {
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@mail.com").build());
+        itemRequest = itemRequestRepository.save(ItemRequest.builder().description("drill").user(booker).build());
+        items = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("drill " + i)
+                    .description("description")
+                    .available(true)
+                    .owner(owner)
+                    .request(itemRequest)
+                    .build());
+            bookingRepository.save(booking(item, now.minusDays(2), now.minusDays(1)));
+            bookingRepository.save(booking(item, now.plusDays(1), now.plusDays(2)));
+            commentRepository.save(Comment.builder()
+                    .text("comment " + i)
+                    .item(item)
+                    .author(booker)
+                    .created(now)
+                    .build());
+            items.add(item);
+        }
+    }
+
+    private Booking booking(Item item, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .start(start)
+                .end(end)
+                .build();
+    }
+
+    private NewItemDto newItem(int i) {
+        return NewItemDto.builder()
+                .name("hammer " + i)
+                .description("description")
+                .available(true)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.item.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.NewItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+class ItemServiceRetryTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @MockBean
+    private ItemRepository itemRepository;
+
+    @MockBean
+    private UserIdRegistry userIdRegistry;
+
+    private Item item;
+
+    private NewItemDto patch;
+
+    @BeforeEach
+    void beforeEach() {
+        User owner = User.builder()
+                .id(1L)
+                .name("owner")
+                .email("owner@mail.com")
+                .build();
+        item = Item.builder()
+                .id(1L)
+                .name("drill")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build();
+        patch = NewItemDto.builder()
+                .name("saw")
+                .build();
+        when(userIdRegistry.confirm(owner.getId()))
+                .thenReturn(true);
+        when(itemRepository.findById(item.getId()))
+                .thenAnswer(invocation -> Optional.of(item.toBuilder().build()));
+    }
+
+    @Test
+    void patchItemIsRetriedAfterConcurrentChange() {
+        when(itemRepository.save(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, item.getId()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ItemDto patched = itemService.patchItem(1L, patch, item.getId());
+
+        assertThat(patched.getName(), is("saw"));
+        verify(itemRepository, times(2)).findById(item.getId());
+        verify(itemRepository, times(2)).save(any());
+    }
+
+    @Test
+    void patchItemGivesUpAfterThreeAttempts() {
+        when(itemRepository.save(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, item.getId()));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> itemService.patchItem(1L, patch, item.getId()));
+
+        verify(itemRepository, times(3)).save(any());
+    }
+}
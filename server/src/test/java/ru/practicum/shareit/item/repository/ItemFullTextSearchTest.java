@@ -0,0 +1,140 @@
+package ru.practicum.shareit.item.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.common.pagination.CustomPageRequest;
+import ru.practicum.shareit.common.query.EmbeddedPostgresConfiguration;
+import ru.practicum.shareit.common.query.QueryCountConfiguration;
+import ru.practicum.shareit.common.query.QueryCounter;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Runs the full-text search against PostgreSQL with a term found in every one of 200 000 items and checks
+ * that no more than the candidate set is fetched and ranked, whatever the number of matches.
+ */
+// cache regions are shared by every context in the JVM, the seeded rows must not leak into other tests
+@DataJpaTest(properties = {
+        "spring.sql.init.platform=postgresql",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QueryCountConfiguration.class, EmbeddedPostgresConfiguration.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+// the seeded rows are committed, the embedded database must not be reused by the other plan tests
+@DirtiesContext
+class ItemFullTextSearchTest {
+    private static final int ITEMS = 200_000;
+
+    private static final int CANDIDATES = 1000;
+
+    private static final Pattern ACTUAL_ROWS = Pattern.compile("actual time=\\S+ rows=(\\d+)");
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @BeforeAll
+    void beforeAll() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, username, email) " +
+                    "SELECT g, 'user' || g, 'user' || g || '@mail.com' FROM generate_series(1, 100) g");
+            statement.execute("INSERT INTO items (id, name, description, available, owner_id) " +
+                    "SELECT g, CASE WHEN g % 100 = 0 THEN 'Tool box ' ELSE 'Item ' END || g, " +
+                    "'hand tool number ' || g, true, 1 + g % 100 FROM generate_series(1, " + ITEMS + ") g");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @Test
+    void commonTermRanksNameHitsFirst() {
+        List<Item> items = itemRepository.findAllByFullText("tool:*", CANDIDATES,
+                CustomPageRequest.of(0, 3, Sort.unsorted()));
+
+        // candidates are read in table order, items named after the term come first
+        assertThat(items.stream().map(Item::getId).collect(Collectors.toList()), is(List.of(100L, 200L, 300L)));
+    }
+
+    @Test
+    void commonTermRanksOnlyCandidates() {
+        List<String> statements = queryCounter.count(() ->
+                itemRepository.findAllByFullText("tool:*", CANDIDATES, CustomPageRequest.of(0, 20, Sort.unsorted())))
+                .getStatements();
+
+        assertThat(statements.size(), is(1));
+        // the query text is bound once per occurrence
+        assertThat(rowsBelowRanking(statements.get(0), "'tool:*'", CANDIDATES, "'tool:*'", 20),
+                everyItem(lessThanOrEqualTo(CANDIDATES)));
+    }
+
+    /**
+     * Rows returned by each node feeding the ts_rank sort in the executed plan. The bitmap built by the GIN index
+     * holds every match and is left out, its cost does not depend on how many rows are ranked.
+     */
+    private List<Integer> rowsBelowRanking(String sql, Object... arguments) {
+        StringBuilder prepared = new StringBuilder();
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++parameters);
+            } else {
+                prepared.append(c);
+            }
+        }
+        assertThat(parameters, is(arguments.length));
+        List<String> plan = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("PREPARE search AS " + prepared);
+            String values = List.of(arguments).stream().map(String::valueOf).collect(Collectors.joining(", "));
+            try (ResultSet resultSet = statement.executeQuery("EXPLAIN (ANALYZE) EXECUTE search(" + values + ")")) {
+                while (resultSet.next()) {
+                    plan.add(resultSet.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        List<Integer> rows = new ArrayList<>();
+        boolean rankSort = false;
+        for (String line : plan) {
+            if (line.contains("Sort Key: (ts_rank")) {
+                rankSort = true;
+            } else if (rankSort && line.contains("->") && !line.contains("Bitmap Index Scan")) {
+                Matcher matcher = ACTUAL_ROWS.matcher(line);
+                assertThat(String.join("\n", plan), matcher.find(), is(true));
+                rows.add(Integer.parseInt(matcher.group(1)));
+            }
+        }
+        assertThat(String.join("\n", plan), rows, not(empty()));
+        return rows;
+    }
+}
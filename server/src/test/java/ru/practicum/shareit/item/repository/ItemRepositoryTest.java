@@ -62,10 +62,44 @@ class ItemRepositoryTest {
         assertThat(items.get(0).getId(), is(item.getId()));
     }
 
+    @Test
+    void findIdsByOwnerId() {
+        assertThat(itemRepository.findIdsByOwnerId(user.getId()), is(List.of(item.getId())));
+        assertThat(itemRepository.findIdsByOwnerId(user.getId() + 1), is(List.of()));
+    }
+
     @Test
     void findAllByNameOrDescription() {
         List<Item> items = itemRepository.findAllByNameOrDescription(item.getDescription(), null);
         assertThat(items.size(), is(1));
         assertThat(items.get(0).getId(), is(item.getId()));
     }
+
+    @Test
+    void findAllByNameOrDescriptionRanksNameMatchesFirst() {
+        Item nameMatch = itemRepository.save(Item.builder()
+                .name("drill")
+                .description("tool")
+                .available(true)
+                .owner(user)
+                .build());
+        itemRepository.save(Item.builder()
+                .name("hammer")
+                .description("drill is not included")
+                .available(false)
+                .owner(user)
+                .build());
+        Item descriptionMatch = itemRepository.save(Item.builder()
+                .name("box")
+                .description("for a drill")
+                .available(true)
+                .owner(user)
+                .build());
+
+        List<Item> items = itemRepository.findAllByNameOrDescription("%drill%", null);
+
+        assertThat(items.size(), is(2));
+        assertThat(items.get(0).getId(), is(nameMatch.getId()));
+        assertThat(items.get(1).getId(), is(descriptionMatch.getId()));
+    }
 }
\ No newline at end of file
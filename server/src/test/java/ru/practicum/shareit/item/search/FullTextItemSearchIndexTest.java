@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyIterable;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FullTextItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private FullTextItemSearchIndex searchIndex;
+
+    @BeforeEach
+    void beforeEach() {
+        searchIndex = new FullTextItemSearchIndex(itemRepository, 1000);
+    }
+
+    @Test
+    void toTsQuery() {
+        assertThat(FullTextItemSearchIndex.toTsQuery("Аккумуляторная  ДРЕЛЬ"), is("аккумуляторная:* & дрель:*"));
+        assertThat(FullTextItemSearchIndex.toTsQuery("drill's & (saw) | !"), is("drill:* & s:* & saw:*"));
+        assertThat(FullTextItemSearchIndex.toTsQuery("!!!"), is(""));
+    }
+
+    @Test
+    void search() {
+        Item item = Item.builder().id(1L).build();
+        when(itemRepository.findAllByFullText("drill:*", 1000, null))
+                .thenReturn(List.of(item));
+
+        List<Item> items = searchIndex.search("Drill", null);
+
+        assertThat(items, is(List.of(item)));
+        verify(itemRepository, times(1)).findAllByFullText("drill:*", 1000, null);
+    }
+
+    @Test
+    void searchWithoutTokens() {
+        List<Item> items = searchIndex.search("&|!", null);
+
+        assertThat(items, emptyIterable());
+        verify(itemRepository, never()).findAllByFullText(any(), anyInt(), any(Pageable.class));
+    }
+}
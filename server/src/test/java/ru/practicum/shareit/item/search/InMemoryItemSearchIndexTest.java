@@ -0,0 +1,170 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.common.pagination.CustomPageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyIterable;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private InMemoryItemSearchIndex searchIndex;
+
+    private Item drill;
+
+    private Item saw;
+
+    @BeforeEach
+    void beforeEach() {
+        drill = Item.builder()
+                .id(1L)
+                .name("Cordless drill")
+                .description("Drill with two batteries")
+                .available(true)
+                .build();
+        saw = Item.builder()
+                .id(2L)
+                .name("Saw")
+                .description("Cordless saw")
+                .available(true)
+                .build();
+        when(itemRepository.streamAvailableForIndex())
+                .thenReturn(Stream.of(
+                        new IndexedItem(drill.getId(), drill.getName(), drill.getDescription()),
+                        new IndexedItem(saw.getId(), saw.getName(), saw.getDescription())));
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void findIdsByPrefix() {
+        assertThat(searchIndex.findIds(List.of("cord")), is(new long[]{1, 2}));
+        assertThat(searchIndex.findIds(List.of("batt")), is(new long[]{1}));
+        assertThat(searchIndex.findIds(List.of("hammer")), is(new long[0]));
+    }
+
+    @Test
+    void findIdsIntersectsTokens() {
+        assertThat(searchIndex.findIds(List.of("cordless", "saw")), is(new long[]{2}));
+        assertThat(searchIndex.findIds(List.of("drill", "saw")), is(new long[0]));
+    }
+
+    @Test
+    void findIdsRanksNameHitsFirst() {
+        saw.setName("Cordless saw");
+        saw.setDescription("Drill guide included");
+        searchIndex.index(saw);
+
+        // the drill has both tokens in the name, the saw only one of them
+        assertThat(searchIndex.findIds(List.of("saw", "cord")), is(new long[]{2}));
+        assertThat(searchIndex.findIds(List.of("cord", "drill")), is(new long[]{1, 2}));
+        // equal rank keeps the id order
+        assertThat(searchIndex.findIds(List.of("cordless")), is(new long[]{1, 2}));
+    }
+
+    @Test
+    void findIdsOrdersDescriptionHitsAfterNameHits() {
+        Item sander = Item.builder()
+                .id(3L)
+                .name("Drill stand")
+                .description("Fits any drill")
+                .available(true)
+                .build();
+        searchIndex.index(sander);
+        saw.setDescription("Cuts like a drill");
+        searchIndex.index(saw);
+
+        assertThat(searchIndex.findIds(List.of("drill")), is(new long[]{1, 3, 2}));
+    }
+
+    @Test
+    void findIdsMergesManyTokensOfOneLetterPrefix() {
+        for (long id = 3; id <= 3000; id++) {
+            // every item has its own token and shares another one with a hundred others
+            searchIndex.index(Item.builder()
+                    .id(id)
+                    .name("Anvil" + id)
+                    .description("alloy" + id % 30 + " hammer")
+                    .available(true)
+                    .build());
+        }
+
+        long[] ids = searchIndex.findIds(List.of("a"));
+
+        assertThat(ids, is(LongStream.rangeClosed(3, 3000).toArray()));
+        assertThat(searchIndex.findIds(List.of("a", "hammer")), is(ids));
+    }
+
+    @Test
+    void search() {
+        when(itemRepository.findAllById(List.of(1L, 2L)))
+                .thenReturn(List.of(saw, drill));
+
+        List<Item> items = searchIndex.search("CORDLESS", CustomPageRequest.of(0, 10, null));
+
+        assertThat(items, is(List.of(drill, saw)));
+    }
+
+    @Test
+    void searchPage() {
+        when(itemRepository.findAllById(List.of(2L)))
+                .thenReturn(List.of(saw));
+
+        assertThat(searchIndex.search("cordless", CustomPageRequest.of(1, 10, null)), is(List.of(saw)));
+        assertThat(searchIndex.search("cordless", CustomPageRequest.of(2, 10, null)), emptyIterable());
+    }
+
+    @Test
+    void indexUpdatesTokens() {
+        drill.setName("Hammer drill");
+        searchIndex.index(drill);
+
+        assertThat(searchIndex.findIds(List.of("hammer")), is(new long[]{1}));
+        assertThat(searchIndex.findIds(List.of("cordless")), is(new long[]{2}));
+    }
+
+    @Test
+    void indexRemovesUnavailableItem() {
+        saw.setAvailable(false);
+        searchIndex.index(saw);
+
+        assertThat(searchIndex.findIds(List.of("saw")), is(new long[0]));
+    }
+
+    @Test
+    void removeByOwner() {
+        when(itemRepository.findIdsByOwnerId(7L))
+                .thenReturn(List.of(drill.getId(), saw.getId()));
+
+        searchIndex.removeByOwner(7L);
+
+        assertThat(searchIndex.findIds(List.of("cordless")), is(new long[0]));
+        assertThat(searchIndex.findIds(List.of("saw")), is(new long[0]));
+    }
+
+    @Test
+    void remove() {
+        searchIndex.remove(drill.getId());
+
+        assertThat(searchIndex.findIds(List.of("cordless")), is(new long[]{2}));
+        assertThat(searchIndex.findIds(List.of("batteries")), is(new long[0]));
+        verify(itemRepository, never()).findAllById(any());
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class PostingListTest {
+
+    @Test
+    void addKeepsIdsSortedAndUnique() {
+        PostingList postingList = new PostingList();
+        postingList.add(5);
+        postingList.add(300);
+        postingList.add(1L << 40);
+        postingList.add(7);
+        postingList.add(300);
+
+        assertThat(postingList.size(), is(4));
+        assertThat(postingList.toArray(), is(new long[]{5, 7, 300, 1L << 40}));
+    }
+
+    @Test
+    void remove() {
+        PostingList postingList = new PostingList();
+        postingList.add(1);
+        postingList.add(2);
+        postingList.add(3);
+
+        postingList.remove(2);
+        postingList.remove(10);
+
+        assertThat(postingList.toArray(), is(new long[]{1, 3}));
+
+        postingList.remove(1);
+        postingList.remove(3);
+
+        assertThat(postingList.isEmpty(), is(true));
+        assertThat(postingList.toArray(), is(new long[0]));
+    }
+
+    @Test
+    void intersect() {
+        assertThat(PostingList.intersect(new long[]{1, 3, 5, 7}, new long[]{2, 3, 7, 9}), is(new long[]{3, 7}));
+        assertThat(PostingList.intersect(new long[]{1}, new long[0]), is(new long[0]));
+    }
+
+    @Test
+    void union() {
+        assertThat(PostingList.union(new long[]{1, 3, 5}, new long[]{2, 3, 9}), is(new long[]{1, 2, 3, 5, 9}));
+        assertThat(PostingList.union(new long[0], new long[]{4}), is(new long[]{4}));
+    }
+
+    @Test
+    void addAndRemoveInTheMiddleMatchSortedSet() {
+        Random random = new Random(42);
+        PostingList postingList = new PostingList();
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int i = 0; i < 5000; i++) {
+            long id = random.nextInt(3) == 0 ? random.nextInt(1 << 20) : random.nextInt(200);
+            if (random.nextBoolean()) {
+                postingList.add(id);
+                expected.add(id);
+            } else {
+                postingList.remove(id);
+                expected.remove(id);
+            }
+        }
+
+        assertThat(postingList.size(), is(expected.size()));
+        assertThat(postingList.toArray(), is(expected.stream().mapToLong(Long::longValue).toArray()));
+    }
+
+    @Test
+    void removeLastThenAppend() {
+        PostingList postingList = new PostingList();
+        postingList.add(10);
+        postingList.add(1000);
+
+        postingList.remove(1000);
+        postingList.add(20);
+
+        assertThat(postingList.toArray(), is(new long[]{10, 20}));
+    }
+
+    @Test
+    void unionOfMany() {
+        assertThat(PostingList.union(List.of(new long[]{1, 4}, new long[]{2, 4, 8}, new long[0], new long[]{1, 3})),
+                is(new long[]{1, 2, 3, 4, 8}));
+        assertThat(PostingList.union(List.of()), is(new long[0]));
+    }
+}
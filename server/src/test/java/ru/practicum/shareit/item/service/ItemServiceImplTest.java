@@ -12,7 +12,10 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.common.exception.ObjectNotFoundException;
+import ru.practicum.shareit.item.cache.ItemDetails;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.NewCommentDto;
 import ru.practicum.shareit.item.dto.NewItemDto;
@@ -22,17 +25,21 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -43,6 +50,8 @@ class ItemServiceImplTest {
     private ItemRepository itemRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private UserIdRegistry userIdRegistry;
 
     @Mock
     private ItemRequestRepository itemRequestRepository;
@@ -54,6 +63,10 @@ class ItemServiceImplTest {
     private ItemMapper itemMapper;
     @Mock
     private CommentMapper commentMapper;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private ItemDetailsCache itemDetailsCache;
     @InjectMocks
     private ItemServiceImpl itemService;
     private User owner;
@@ -129,13 +142,76 @@ class ItemServiceImplTest {
 
         verify(userRepository, times(1)).findById(owner.getId());
         verify(itemRepository, times(1)).save(item);
+        verify(itemSearchIndex, times(1)).index(item);
         verify(itemRequestRepository, times(1)).findById(newItemDto.getRequestId());
     }
 
     @Test
-    void updateItem() {
+    void addNewItems() {
+        NewItemDto unknownRequestDto = newItemDto.toBuilder()
+                .requestId(2L)
+                .build();
+        ItemRequest itemRequest = ItemRequest.builder()
+                .id(1L)
+                .build();
+        when(userRepository.findById(owner.getId()))
+                .thenReturn(Optional.of(owner));
+        when(itemRequestRepository.findAllById(Set.of(1L, 2L)))
+                .thenReturn(List.of(itemRequest));
+        when(itemMapper.toModel(newItemDto))
+                .thenReturn(item);
+        when(itemRepository.saveAll(List.of(item)))
+                .thenReturn(List.of(item));
+        when(itemMapper.toDto(item))
+                .thenReturn(itemDto);
+
+        List<ItemBatchResultDto> results = itemService.addNewItems(owner.getId(), List.of(newItemDto, unknownRequestDto));
+
+        assertThat(results.size(), is(2));
+        assertThat(results.get(0).getItem(), is(itemDto));
+        assertThat(results.get(0).getError(), nullValue());
+        assertThat(results.get(1).getItem(), nullValue());
+        assertThat(results.get(1).getError(), is("item request is not found"));
+        assertThat(item.getOwner(), is(owner));
+        assertThat(item.getRequest(), is(itemRequest));
+        verify(itemRequestRepository, times(1)).findAllById(Set.of(1L, 2L));
+        verify(itemRepository, times(1)).saveAll(List.of(item));
+        verify(itemSearchIndex, times(1)).index(item);
+    }
+
+    @Test
+    void addNewItemsWithoutRequests() {
+        NewItemDto withoutRequestDto = newItemDto.toBuilder()
+                .requestId(null)
+                .build();
         when(userRepository.findById(owner.getId()))
                 .thenReturn(Optional.of(owner));
+        when(itemMapper.toModel(withoutRequestDto))
+                .thenReturn(item);
+        when(itemRepository.saveAll(List.of(item)))
+                .thenReturn(List.of(item));
+
+        itemService.addNewItems(owner.getId(), List.of(withoutRequestDto));
+
+        verify(itemRequestRepository, never()).findAllById(any());
+        verify(itemRepository, times(1)).saveAll(List.of(item));
+    }
+
+    @Test
+    void addNewItemsWithWrongUser() {
+        when(userRepository.findById(owner.getId()))
+                .thenReturn(Optional.empty());
+
+        assertThrows(ObjectNotFoundException.class,
+                () -> itemService.addNewItems(owner.getId(), List.of(newItemDto)));
+
+        verify(itemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void updateItem() {
+        when(userIdRegistry.confirm(owner.getId()))
+                .thenReturn(true);
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.of(item));
         when(itemRepository.save(any()))
@@ -143,16 +219,34 @@ class ItemServiceImplTest {
 
         itemService.patchItem(owner.getId(), newItemDto, newItemDto.getId());
 
-        verify(userRepository, times(1)).findById(owner.getId());
+        verify(userIdRegistry, times(1)).confirm(owner.getId());
         verify(itemRepository, times(1)).save(item);
+        verify(itemSearchIndex, times(1)).index(item);
+        verify(itemDetailsCache, times(1)).evict(item.getId());
+    }
+
+    @Test
+    void deleteItem() {
+        when(userIdRegistry.confirm(owner.getId()))
+                .thenReturn(true);
+        when(itemRepository.findById(item.getId()))
+                .thenReturn(Optional.of(item));
+
+        itemService.deleteItem(owner.getId(), item.getId());
+
+        verify(itemRepository, times(1)).deleteById(item.getId());
+        verify(itemSearchIndex, times(1)).remove(item.getId());
+        verify(itemDetailsCache, times(1)).evict(item.getId());
     }
 
     @Test
     void findItemById() {
         when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.of(item));
-        when(bookingRepository.findAllByItemIdIn(List.of(item.getId()), BookingStatus.APPROVED))
-                .thenReturn(List.of(booking, booking2));
+        when(bookingRepository.findLastApprovedByItemIdIn(eq(List.of(item.getId())), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking));
+        when(bookingRepository.findNextApprovedByItemIdIn(eq(List.of(item.getId())), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking2));
         when(commentMapper.toDtoList(any()))
                 .thenReturn(List.of(new CommentDto()));
         when(itemMapper.toDto(any()))
@@ -161,18 +255,66 @@ class ItemServiceImplTest {
         itemService.get(item.getId(), owner.getId());
 
         verify(itemRepository, times(1)).findById(item.getId());
-        verify(bookingRepository, times(1)).findAllByItemIdIn(List.of(item.getId()), BookingStatus.APPROVED);
+        verify(bookingRepository, times(1))
+                .findLastApprovedByItemIdIn(eq(List.of(item.getId())), any(LocalDateTime.class));
+        verify(bookingRepository, times(1))
+                .findNextApprovedByItemIdIn(eq(List.of(item.getId())), any(LocalDateTime.class));
     }
 
+    @Test
+    void findItemByIdNotOwnerIsCached() {
+        when(itemRepository.findById(item.getId()))
+                .thenReturn(Optional.of(item));
+        when(commentMapper.toDtoList(any()))
+                .thenReturn(List.of(new CommentDto()));
+        when(itemMapper.toDto(item))
+                .thenReturn(itemDto);
+
+        ItemDto result = itemService.get(item.getId(), user.getId());
+
+        assertThat(result, is(itemDto));
+        verify(commentRepository, times(1)).findAllByItemId(item.getId());
+        verify(itemDetailsCache, times(1)).put(eq(item.getId()), any(ItemDetails.class), anyLong());
+    }
+
+    @Test
+    void findItemByIdNotOwnerFromCache() {
+        itemDto.getComments().add(new CommentDto());
+        when(itemDetailsCache.get(item.getId()))
+                .thenReturn(new ItemDetails(owner.getId(), itemDto));
+
+        ItemDto result = itemService.get(item.getId(), user.getId());
+
+        assertThat(result, is(itemDto));
+        assertThat(result == itemDto, is(false));
+        verifyNoInteractions(itemRepository, commentRepository);
+    }
+
+    @Test
+    void findItemByIdOwnerIgnoresCache() {
+        when(itemDetailsCache.get(item.getId()))
+                .thenReturn(new ItemDetails(owner.getId(), itemDto));
+        when(itemRepository.findById(item.getId()))
+                .thenReturn(Optional.of(item));
+        when(itemMapper.toDtoList(List.of(item)))
+                .thenReturn(List.of(itemDto));
+
+        itemService.get(item.getId(), owner.getId());
+
+        verify(itemRepository, times(1)).findById(item.getId());
+        verify(itemDetailsCache, never()).put(anyLong(), any(), anyLong());
+    }
 
     @Test
     void findAllItemsByUserId() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
+        when(userIdRegistry.exists(user.getId()))
+                .thenReturn(true);
         when(itemRepository.findAllByOwnerIdOrderById(anyLong(), any(Pageable.class)))
                 .thenReturn(List.of(item));
-        when(bookingRepository.findAllByItemIdIn(List.of(item.getId()), BookingStatus.APPROVED))
-                .thenReturn(List.of(booking, booking2));
+        when(bookingRepository.findLastApprovedByItemIdIn(eq(List.of(item.getId())), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking));
+        when(bookingRepository.findNextApprovedByItemIdIn(eq(List.of(item.getId())), any(LocalDateTime.class)))
+                .thenReturn(List.of(booking2));
         when(commentMapper.toDtoList(any()))
                 .thenReturn(List.of(new CommentDto()));
         when(itemMapper.toDto(any()))
@@ -181,17 +323,28 @@ class ItemServiceImplTest {
         List<ItemDto> items = itemService.getItems(user.getId(), 0, 50);
 
         assertThat(items.size(), is(1));
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userIdRegistry, times(1)).exists(user.getId());
         verify(itemRepository, times(1)).findAllByOwnerIdOrderById(anyLong(), any(Pageable.class));
-        verify(bookingRepository, times(1)).findAllByItemIdIn(List.of(item.getId()), BookingStatus.APPROVED);
+        verify(bookingRepository, times(1))
+                .findLastApprovedByItemIdIn(eq(List.of(item.getId())), any(LocalDateTime.class));
+        verify(bookingRepository, times(1))
+                .findNextApprovedByItemIdIn(eq(List.of(item.getId())), any(LocalDateTime.class));
     }
 
     @Test
-    void findAllByNameOrDescription() {
-        when(itemRepository.findAllByNameOrDescription(anyString(), any(Pageable.class)))
+    void searchItems() {
+        when(itemSearchIndex.search(anyString(), any(Pageable.class)))
                 .thenReturn(List.of(item));
         itemService.search(item.getName(), 0, 50);
-        verify(itemRepository, times(1)).findAllByNameOrDescription(anyString(), any(Pageable.class));
+        verify(itemSearchIndex, times(1)).search(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void searchBlankText() {
+        List<ItemDto> items = itemService.search(" ", 0, 50);
+
+        assertThat(items.size(), is(0));
+        verifyNoInteractions(itemSearchIndex);
     }
 
     @Test
@@ -212,6 +365,7 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).findById(item.getId());
         verify(bookingRepository, times(1)).findAllByItemIdAndBooker(item.getId(), user.getId());
         verify(commentRepository, times(1)).save(any());
+        verify(itemDetailsCache, times(1)).evict(item.getId());
     }
 
     @Test
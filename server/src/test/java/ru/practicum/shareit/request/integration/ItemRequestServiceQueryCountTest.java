@@ -0,0 +1,131 @@
+package ru.practicum.shareit.request.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.common.query.QueryCountConfiguration;
+import ru.practicum.shareit.common.query.QueryCounter;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.NewItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static ru.practicum.shareit.common.query.QueryCount.selects;
+
+/**
+ * Number of statements of each ItemRequestService method, the same for a single request as for a page of them.
+ * Users are saved past the service, so checking the caller costs one query the first time.
+ */
+// the second level cache would hide lazy loads behind cache hits
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(QueryCountConfiguration.class)
+class ItemRequestServiceQueryCountTest {
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    private User requester;
+
+    private User owner;
+
+    private List<ItemRequest> requests;
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void create(int size) {
+        seed(size);
+        NewItemRequestDto newRequest = NewItemRequestDto.builder().description("need a saw").build();
+
+        assertThat(queryCounter.count(() -> itemRequestService.create(requester.getId(), newRequest)),
+                is(selects(1).inserts(1)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void getUserItemRequests(int size) {
+        seed(size);
+
+        assertThat(queryCounter.count(() -> itemRequestService.getUserItemRequests(requester.getId())),
+                is(selects(2)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void getAvailableItemRequests(int size) {
+        seed(size);
+
+        assertThat(queryCounter.count(() -> itemRequestService.getAvailableItemRequests(owner.getId(), 0, 20)),
+                is(selects(3)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10})
+    void get(int size) {
+        seed(size);
+        long requestId = requests.get(0).getId();
+
+        assertThat(queryCounter.count(() -> itemRequestService.get(owner.getId(), requestId)),
+                is(selects(2)));
+    }
+
+    /**
+     * Requests of one user, each answered with two items of another user.
+     */
+    private void seed(int size) {
+        requester = userRepository.save(User.builder().name("requester").email("requester@mail.com").build());
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        requests = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("need a drill " + i)
+                    .user(requester)
+                    .build());
+            for (int j = 0; j < 2; j++) {
+                itemRepository.save(Item.builder()
+                        .name("drill " + i + "." + j)
+                        .description("description")
+                        .available(true)
+                        .owner(owner)
+                        .request(request)
+                        .build());
+            }
+            requests.add(request);
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package ru.practicum.shareit.request.repository;
 
 import lombok.SneakyThrows;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.common.pagination.CustomPageRequest;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -19,6 +21,7 @@ import java.util.List;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static ru.practicum.shareit.request.service.ItemRequestServiceImpl.REQUEST_SORTING;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
@@ -35,6 +38,9 @@ class ItemRequestStorageTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private User user;
     private User user2;
     private ItemRequest itemRequest;
@@ -88,10 +94,44 @@ class ItemRequestStorageTest {
 
     @Test
     @SneakyThrows
-    public void findAvailableRequests() {
-        Page<ItemRequest> requests = itemRequestRepository.findAvailableRequests(user.getId(), null);
+    public void findAvailableRequestIds() {
+        ItemRequest otherRequest = itemRequestRepository.save(
+                ItemRequest.builder()
+                        .user(user2)
+                        .description("other description")
+                        .build());
+
+        List<Long> firstPage = itemRequestRepository.findAvailableRequestIds(user.getId(),
+                CustomPageRequest.of(0, 1, REQUEST_SORTING));
+        List<Long> secondPage = itemRequestRepository.findAvailableRequestIds(user.getId(),
+                CustomPageRequest.of(1, 1, REQUEST_SORTING));
+
+        assertThat(firstPage, is(List.of(otherRequest.getId())));
+        assertThat(secondPage, is(List.of(itemRequest.getId())));
+        assertThat(itemRequestRepository.findAvailableRequestIds(user2.getId(),
+                CustomPageRequest.of(0, 10, REQUEST_SORTING)), is(List.of()));
+    }
+
+    @Test
+    public void findAllWithItemsByIdIn() {
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ItemRequest> requests = itemRequestRepository.findAllWithItemsByIdIn(List.of(itemRequest.getId()));
+
+        assertThat(requests.size(), is(1));
+        assertThat(requests.get(0).getId(), is(itemRequest.getId()));
+        assertThat(requests.get(0).getItems().size(), is(1));
+    }
+
+    @Test
+    public void findWithItemsById() {
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemRequest request = itemRequestRepository.findWithItemsById(itemRequest.getId()).orElseThrow();
 
-        assertThat(requests.getContent().size(), is(1));
-        assertThat(requests.getContent(), is(List.of(itemRequest)));
+        assertThat(Hibernate.isInitialized(request.getItems()), is(true));
+        assertThat(request.getItems().size(), is(1));
     }
-}
\ No newline at end of file
+}
@@ -6,7 +6,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewItemRequestDto;
@@ -14,6 +13,7 @@ import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.Collections;
@@ -34,6 +34,8 @@ class ItemRequestServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserIdRegistry userIdRegistry;
+    @Mock
     private ItemRequestMapper itemRequestMapper;
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
@@ -76,8 +78,8 @@ class ItemRequestServiceTest {
 
     @Test
     public void getUserItemRequests() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
+        when(userIdRegistry.exists(user.getId()))
+                .thenReturn(true);
         when(itemRequestRepository.getUserItemRequests(user.getId(), REQUEST_SORTING))
                 .thenReturn(Collections.emptyList());
 
@@ -87,32 +89,49 @@ class ItemRequestServiceTest {
         assertThat(requests, is(notNullValue()));
         assertThat(requests, is(Collections.emptyList()));
 
-        verify(userRepository, times(1)).findById(user.getId());
+        verify(userIdRegistry, times(1)).exists(user.getId());
         verify(itemRequestRepository, times(1)).getUserItemRequests(user.getId(), REQUEST_SORTING);
     }
 
     @Test
     public void getAvailableItemRequests() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
-        when(itemRequestRepository.findAvailableRequests(anyLong(), any(Pageable.class)))
-                .thenReturn(Page.empty());
+        when(userIdRegistry.exists(user.getId()))
+                .thenReturn(true);
+        when(itemRequestRepository.findAvailableRequestIds(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(itemRequest.getId()));
+        when(itemRequestRepository.findAllWithItemsByIdIn(List.of(itemRequest.getId())))
+                .thenReturn(List.of(itemRequest));
 
         itemRequestService.getAvailableItemRequests(user.getId(), 0, 50);
 
-        verify(itemRequestRepository, times(1)).findAvailableRequests(anyLong(), any(Pageable.class));
+        verify(itemRequestRepository, times(1)).findAvailableRequestIds(anyLong(), any(Pageable.class));
+        verify(itemRequestRepository, times(1)).findAllWithItemsByIdIn(List.of(itemRequest.getId()));
+        verify(itemRequestMapper, times(1)).toDtoList(List.of(itemRequest));
+    }
+
+    @Test
+    public void getAvailableItemRequestsEmptyPage() {
+        when(userIdRegistry.exists(user.getId()))
+                .thenReturn(true);
+        when(itemRequestRepository.findAvailableRequestIds(anyLong(), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        List<ItemRequestDto> requests = itemRequestService.getAvailableItemRequests(user.getId(), 0, 50);
+
+        assertThat(requests, is(Collections.emptyList()));
+        verify(itemRequestRepository, never()).findAllWithItemsByIdIn(any());
     }
 
     @Test
     public void getItemRequestById() {
-        when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
-        when(itemRequestRepository.findById(itemRequest.getId()))
+        when(userIdRegistry.exists(user.getId()))
+                .thenReturn(true);
+        when(itemRequestRepository.findWithItemsById(itemRequest.getId()))
                 .thenReturn(Optional.of(itemRequest));
 
         itemRequestService.get(user.getId(), itemRequest.getId());
 
-        verify(userRepository, times(1)).findById(user.getId());
-        verify(itemRequestRepository, times(1)).findById(itemRequest.getId());
+        verify(userIdRegistry, times(1)).exists(user.getId());
+        verify(itemRequestRepository, times(1)).findWithItemsById(itemRequest.getId());
     }
 }
\ No newline at end of file
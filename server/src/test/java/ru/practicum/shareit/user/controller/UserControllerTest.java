@@ -9,19 +9,23 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import ru.practicum.shareit.common.exception.AlreadyExistException;
+import ru.practicum.shareit.common.pagination.IdCursor;
 import ru.practicum.shareit.user.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static ru.practicum.shareit.common.model.Constants.NEXT_CURSOR_HEADER;
 
 @WebMvcTest(controllers = UserController.class)
 class UserControllerTest {
@@ -134,17 +138,93 @@ class UserControllerTest {
     @Test
     @SneakyThrows
     void getAllUsers() {
-        when(userService.getAllUsers())
-                .thenReturn(List.of(userDto));
+        mockUsers(List.of(userDto));
 
-        mvc.perform(get("/users")
+        MvcResult result = mvc.perform(get("/users")
                         .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().string(objectMapper.writeValueAsString(List.of(userDto))))
                 .andExpect(jsonPath("$.[0].email", is(userDto.getEmail())))
                 .andExpect(jsonPath("$.length()", is(1)));
 
-        verify(userService, times(1)).getAllUsers();
+        verify(userService, times(1)).forEachUser(any());
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllUsersWithoutAcceptHeader() {
+        mockUsers(List.of());
+
+        MvcResult result = mvc.perform(get("/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string("[]"));
+    }
+
+    @Test
+    @SneakyThrows
+    void streamAllUsers() {
+        UserDto otherUser = userDto.toBuilder()
+                .id(2L)
+                .email("other@mail.com")
+                .build();
+        mockUsers(List.of(userDto, otherUser));
+
+        MvcResult result = mvc.perform(get("/users")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(userDto) + "\n"
+                        + objectMapper.writeValueAsString(otherUser) + "\n"));
+    }
+
+    @Test
+    @SneakyThrows
+    void getUsersPage() {
+        when(userService.getUsers(0, 1, null))
+                .thenReturn(List.of(userDto));
+
+        mvc.perform(get("/users")
+                        .param("from", "0")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, IdCursor.encode(userDto.getId())))
+                .andExpect(jsonPath("$.[0].id", is(1)));
+
+        verify(userService, times(1)).getUsers(0, 1, null);
+    }
+
+    @Test
+    @SneakyThrows
+    void getLastUsersPageByCursor() {
+        String cursor = IdCursor.encode(userDto.getId());
+        when(userService.getUsers(0, 10, cursor))
+                .thenReturn(List.of());
+
+        mvc.perform(get("/users")
+                        .param("size", "10")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.length()", is(0)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockUsers(List<UserDto> users) {
+        doAnswer(invocation -> {
+            users.forEach(invocation.getArgument(0, Consumer.class));
+            return null;
+        }).when(userService).forEachUser(any());
     }
 
     @Test
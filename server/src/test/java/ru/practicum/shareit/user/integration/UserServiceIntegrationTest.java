@@ -8,9 +8,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.common.exception.AlreadyExistException;
 import ru.practicum.shareit.common.exception.ObjectNotFoundException;
+import ru.practicum.shareit.common.pagination.IdCursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -52,6 +54,40 @@ class UserServiceIntegrationTest {
         assertThat(e.getMessage(), is("email should be unique"));
     }
 
+    @Test
+    void updateUserWithEmailInOtherCase() {
+        UserDto user = userService.save(userDto);
+        userService.save(UserDto.builder()
+                .name("hey")
+                .email("make@email.com")
+                .build());
+        UserDto patch = UserDto.builder()
+                .email("Make@Email.com")
+                .build();
+
+        AlreadyExistException e = assertThrows(AlreadyExistException.class,
+                () -> userService.patch(patch, user.getId()));
+        assertThat(e.getMessage(), is("email should be unique"));
+    }
+
+    @Test
+    void updateUserKeepsOwnEmail() {
+        UserDto user = userService.save(userDto);
+        UserDto patch = UserDto.builder()
+                .email(userDto.getEmail())
+                .build();
+
+        assertThat(userService.patch(patch, user.getId()).getEmail(), is(userDto.getEmail()));
+    }
+
+    @Test
+    void addUserWithSameEmail() {
+        userService.save(userDto);
+
+        AlreadyExistException e = assertThrows(AlreadyExistException.class, () -> userService.save(userDto));
+        assertThat(e.getMessage(), is("email should be unique"));
+    }
+
     @Test
     void updateUserNotFound() {
         ObjectNotFoundException e = assertThrows(ObjectNotFoundException.class,
@@ -84,15 +120,28 @@ class UserServiceIntegrationTest {
     @Test
     void getAllUsers() {
         UserDto savedUser = userService.save(userDto);
-        List<UserDto> users = userService.getAllUsers();
+        List<UserDto> users = new ArrayList<>();
+        userService.forEachUser(users::add);
         assertThat(users, is(List.of(savedUser)));
     }
 
+    @Test
+    void getUsersByPagesAndCursor() {
+        UserDto first = userService.save(userDto);
+        UserDto second = userService.save(userDto.toBuilder().email("second@email.com").build());
+        UserDto third = userService.save(userDto.toBuilder().email("third@email.com").build());
+
+        assertThat(userService.getUsers(0, 2, null), is(List.of(first, second)));
+        assertThat(userService.getUsers(2, 2, null), is(List.of(third)));
+        assertThat(userService.getUsers(0, 2, IdCursor.encode(first.getId())), is(List.of(second, third)));
+        assertThat(userService.getUsers(0, 2, IdCursor.encode(third.getId())), is(List.of()));
+    }
+
     @Test
     void deleteUserById() {
         UserDto savedUser = userService.save(userDto);
         userService.delete(savedUser.getId());
-        List<UserDto> users = userService.getAllUsers();
+        List<UserDto> users = userService.getUsers(0, 10, null);
         assertEquals(0, users.size());
     }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.user.registry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdRegistryTest {
+    @Mock
+    private UserRepository userRepository;
+    @InjectMocks
+    private UserIdRegistry userIdRegistry;
+
+    @Test
+    void addedUserExistsWithoutQuery() {
+        userIdRegistry.add(5L);
+
+        assertThat(userIdRegistry.exists(5L), is(true));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void removedUserIsCheckedInDatabase() {
+        userIdRegistry.add(5L);
+        userIdRegistry.remove(5L);
+        when(userRepository.existsById(5L))
+                .thenReturn(false);
+
+        assertThat(userIdRegistry.exists(5L), is(false));
+        verify(userRepository, times(1)).existsById(5L);
+    }
+
+    @Test
+    void unknownUserFoundInDatabaseIsRemembered() {
+        when(userRepository.existsById(7L))
+                .thenReturn(true);
+
+        assertThat(userIdRegistry.exists(7L), is(true));
+        assertThat(userIdRegistry.exists(7L), is(true));
+        verify(userRepository, times(1)).existsById(7L);
+    }
+
+    @Test
+    void missingUserIsNotRemembered() {
+        when(userRepository.existsById(7L))
+                .thenReturn(false);
+
+        assertThat(userIdRegistry.exists(7L), is(false));
+        assertThat(userIdRegistry.exists(7L), is(false));
+        verify(userRepository, times(2)).existsById(7L);
+    }
+
+    @Test
+    void userRemovedDuringDatabaseCheckIsNotRemembered() {
+        when(userRepository.existsById(7L))
+                .thenAnswer(invocation -> {
+                    userIdRegistry.remove(7L);
+                    return true;
+                })
+                .thenReturn(false);
+
+        assertThat(userIdRegistry.exists(7L), is(true));
+        assertThat(userIdRegistry.exists(7L), is(false));
+        verify(userRepository, times(2)).existsById(7L);
+    }
+
+    @Test
+    void idsOutOfBitmapRangeAreCheckedInDatabase() {
+        long userId = Integer.MAX_VALUE + 1L;
+        userIdRegistry.add(userId);
+        when(userRepository.existsById(userId))
+                .thenReturn(true);
+
+        assertThat(userIdRegistry.exists(userId), is(true));
+        assertThat(userIdRegistry.exists(userId), is(true));
+        verify(userRepository, times(2)).existsById(userId);
+    }
+
+    @Test
+    void confirmChecksKnownUserInDatabase() {
+        userIdRegistry.add(5L);
+        when(userRepository.existsById(5L))
+                .thenReturn(true);
+
+        assertThat(userIdRegistry.confirm(5L), is(true));
+        verify(userRepository, times(1)).existsById(5L);
+    }
+
+    @Test
+    void userDeletedElsewhereIsDroppedOnConfirm() {
+        userIdRegistry.add(5L);
+        when(userRepository.existsById(5L))
+                .thenReturn(false);
+
+        assertThat(userIdRegistry.exists(5L), is(true));
+        assertThat(userIdRegistry.confirm(5L), is(false));
+        assertThat(userIdRegistry.exists(5L), is(false));
+        verify(userRepository, times(2)).existsById(5L);
+    }
+}
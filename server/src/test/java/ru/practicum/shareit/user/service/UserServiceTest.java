@@ -6,14 +6,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.common.exception.AlreadyExistException;
 import ru.practicum.shareit.common.exception.ObjectNotFoundException;
+import ru.practicum.shareit.common.exception.ValidationException;
+import ru.practicum.shareit.common.pagination.IdCursor;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -30,7 +40,13 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserIdRegistry userIdRegistry;
+    @Mock
     private UserMapper userMapper;
+    @Mock
+    private ItemDetailsCache itemDetailsCache;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
     @InjectMocks
     private UserServiceImpl userService;
     private User user;
@@ -46,13 +62,93 @@ class UserServiceTest {
 
     @Test
     void addUser() {
-        when(userRepository.save(user))
+        when(userRepository.saveAndFlush(user))
                 .thenReturn(user);
         when(userMapper.toModel(userDto))
                 .thenReturn(user);
 
         userService.save(userDto);
-        verify(userRepository, times(1)).save(user);
+        verify(userRepository, times(1)).saveAndFlush(user);
+        verify(userIdRegistry, times(1)).add(user.getId());
+    }
+
+    @Test
+    void addUserWithTakenEmail() {
+        when(userMapper.toModel(userDto))
+                .thenReturn(user);
+        when(userRepository.saveAndFlush(user))
+                .thenThrow(new DataIntegrityViolationException("users_email_lower_uq"));
+
+        AlreadyExistException e = assertThrows(AlreadyExistException.class, () -> userService.save(userDto));
+
+        assertThat(e.getMessage(), is("email should be unique"));
+    }
+
+    @Test
+    void patchUserEmail() {
+        UserDto patch = UserDto.builder()
+                .email("new@email.com")
+                .build();
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+        when(userRepository.existsByEmailIgnoreCaseAndIdNot(patch.getEmail(), user.getId()))
+                .thenReturn(false);
+        when(userRepository.saveAndFlush(user))
+                .thenReturn(user);
+
+        userService.patch(patch, user.getId());
+
+        assertThat(user.getEmail(), is(patch.getEmail()));
+        verify(userRepository, never()).findAll();
+        verify(itemDetailsCache, never()).clear();
+    }
+
+    @Test
+    void patchUserNameClearsItemDetails() {
+        UserDto patch = UserDto.builder()
+                .name("renamed")
+                .build();
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+        when(userRepository.saveAndFlush(user))
+                .thenReturn(user);
+
+        userService.patch(patch, user.getId());
+
+        assertThat(user.getName(), is(patch.getName()));
+        verify(itemDetailsCache, times(1)).clear();
+    }
+
+    @Test
+    void patchUserSameNameKeepsItemDetails() {
+        UserDto patch = UserDto.builder()
+                .name(user.getName())
+                .build();
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+        when(userRepository.saveAndFlush(user))
+                .thenReturn(user);
+
+        userService.patch(patch, user.getId());
+
+        verify(itemDetailsCache, never()).clear();
+    }
+
+    @Test
+    void patchUserWithTakenEmail() {
+        UserDto patch = UserDto.builder()
+                .email("TAKEN@email.com")
+                .build();
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+        when(userRepository.existsByEmailIgnoreCaseAndIdNot(patch.getEmail(), user.getId()))
+                .thenReturn(true);
+
+        AlreadyExistException e = assertThrows(AlreadyExistException.class,
+                () -> userService.patch(patch, user.getId()));
+
+        assertThat(e.getMessage(), is("email should be unique"));
+        verify(userRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -76,17 +172,53 @@ class UserServiceTest {
     }
 
     @Test
-    void findAllUsers() {
-        when(userRepository.findAll())
+    void findUsersPage() {
+        when(userRepository.findAllByIdAfter(eq(0L), any(Pageable.class)))
                 .thenReturn(List.of(user));
 
-        userService.getAllUsers();
-        verify(userRepository, times(1)).findAll();
+        userService.getUsers(10, 5, null);
+
+        verify(userRepository, times(1))
+                .findAllByIdAfter(eq(0L), argThat(page -> page.getOffset() == 10 && page.getPageSize() == 5));
+        verify(userMapper, times(1)).toDto(user);
+    }
+
+    @Test
+    void findUsersAfterCursor() {
+        when(userRepository.findAllByIdAfter(eq(7L), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        userService.getUsers(0, 5, IdCursor.encode(7L));
+
+        verify(userRepository, times(1))
+                .findAllByIdAfter(eq(7L), argThat(page -> page.getOffset() == 0));
+    }
+
+    @Test
+    void findUsersWithCursorAndOffset() {
+        assertThrows(ValidationException.class, () -> userService.getUsers(5, 5, IdCursor.encode(7L)));
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void forEachUser() {
+        UserDto otherUser = userDto.toBuilder().id(2L).build();
+        when(userRepository.streamAll())
+                .thenReturn(Stream.of(userDto, otherUser));
+        List<UserDto> users = new ArrayList<>();
+
+        userService.forEachUser(users::add);
+
+        assertThat(users, is(List.of(userDto, otherUser)));
     }
 
     @Test
     void deleteUserById() {
         userService.delete(user.getId());
+        verify(itemSearchIndex, times(1)).removeByOwner(user.getId());
         verify(userRepository, times(1)).deleteById(user.getId());
+        verify(itemDetailsCache, times(1)).clear();
+        verify(userIdRegistry, times(1)).remove(user.getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import java.nio.file.Path;
+
+/**
+ * Writes the spans of the gateway and the server to shareit.tracing.file when it is set.
+ */
+@AutoConfiguration
+@ConditionalOnProperty("shareit.tracing.file")
+public class FileSpanExportAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public FileSpanHandler fileSpanHandler(@Value("${shareit.tracing.file}") Path file) {
+        return new FileSpanHandler(file);
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends every finished span to a file as one line of Zipkin v2 JSON, a local stand-in for a trace collector.
+ * The lines of the gateway and the server files can be merged and loaded into Zipkin as they are.
+ */
+@Slf4j
+public class FileSpanHandler extends SpanHandler implements Closeable {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BufferedWriter writer;
+
+    public FileSpanHandler(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return true;
+        }
+        try {
+            String line = objectMapper.writeValueAsString(toZipkin(span));
+            synchronized (writer) {
+                writer.write(line);
+                writer.newLine();
+                // the local root finishes last, so a request is flushed at once instead of span by span
+                if (context.isLocalRoot()) {
+                    writer.flush();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("span {} of trace {} is not exported: {}", span.id(), span.traceId(), e.getMessage());
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writer) {
+            writer.close();
+        }
+    }
+
+    static Map<String, Object> toZipkin(MutableSpan span) {
+        Map<String, Object> zipkin = new LinkedHashMap<>();
+        zipkin.put("traceId", span.traceId());
+        if (span.parentId() != null) {
+            zipkin.put("parentId", span.parentId());
+        }
+        zipkin.put("id", span.id());
+        if (span.kind() != null) {
+            zipkin.put("kind", span.kind().name());
+        }
+        zipkin.put("name", span.name());
+        zipkin.put("timestamp", span.startTimestamp());
+        zipkin.put("duration", Math.max(1, span.finishTimestamp() - span.startTimestamp()));
+        zipkin.put("localEndpoint", Map.of("serviceName", String.valueOf(span.localServiceName())));
+        if (span.remoteServiceName() != null) {
+            zipkin.put("remoteEndpoint", Map.of("serviceName", span.remoteServiceName()));
+        }
+        List<Map<String, Object>> annotations = new ArrayList<>();
+        span.forEachAnnotation((list, timestamp, value) -> list.add(Map.of("timestamp", timestamp, "value", value)),
+                annotations);
+        if (!annotations.isEmpty()) {
+            zipkin.put("annotations", annotations);
+        }
+        Map<String, String> tags = new LinkedHashMap<>();
+        span.forEachTag(Map::put, tags);
+        if (span.error() != null && !tags.containsKey("error")) {
+            tags.put("error", String.valueOf(span.error().getMessage()));
+        }
+        if (!tags.isEmpty()) {
+            zipkin.put("tags", tags);
+        }
+        return zipkin;
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSpanExportAutoConfigurationTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(FileSpanExportAutoConfiguration.class));
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void exportIsOffByDefault() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(FileSpanHandler.class));
+    }
+
+    @Test
+    void exportWritesToConfiguredFile() {
+        Path file = directory.resolve("server-spans.jsonl");
+        contextRunner
+                .withPropertyValues("shareit.tracing.file=" + file)
+                .run(context -> {
+                    assertThat(context).hasSingleBean(FileSpanHandler.class);
+                    assertThat(Files.exists(file)).isTrue();
+                });
+    }
+}
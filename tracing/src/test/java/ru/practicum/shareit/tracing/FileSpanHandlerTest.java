@@ -0,0 +1,75 @@
+package ru.practicum.shareit.tracing;
+
+import brave.Span;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+class FileSpanHandlerTest {
+    private static final TraceContext context = TraceContext.newBuilder()
+            .traceId(1L)
+            .spanId(2L)
+            .sampled(true)
+            .build();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void finishedSpansAreWrittenAsZipkinJsonLines() throws Exception {
+        Path file = directory.resolve("spans/server-spans.jsonl");
+        try (FileSpanHandler handler = new FileSpanHandler(file)) {
+            handler.end(context, span("GET /bookings", Span.Kind.SERVER), SpanHandler.Cause.FINISHED);
+            handler.end(context, span("select", Span.Kind.CLIENT), SpanHandler.Cause.FINISHED);
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines, hasSize(2));
+        JsonNode json = new ObjectMapper().readTree(lines.get(0));
+        assertThat(json.get("traceId").asText(), is("0000000000000001"));
+        assertThat(json.get("parentId").asText(), is("0000000000000003"));
+        assertThat(json.get("id").asText(), is("0000000000000002"));
+        assertThat(json.get("kind").asText(), is("SERVER"));
+        assertThat(json.get("name").asText(), is("GET /bookings"));
+        assertThat(json.get("timestamp").asLong(), is(1000L));
+        assertThat(json.get("duration").asLong(), is(250L));
+        assertThat(json.get("localEndpoint").get("serviceName").asText(), is("shareit-server"));
+        assertThat(json.get("tags").get("http.path").asText(), is("/bookings"));
+    }
+
+    @Test
+    void abandonedSpansAreSkipped() throws Exception {
+        Path file = directory.resolve("server-spans.jsonl");
+        try (FileSpanHandler handler = new FileSpanHandler(file)) {
+            handler.end(context, span("GET /bookings", Span.Kind.SERVER), SpanHandler.Cause.ABANDONED);
+        }
+
+        assertThat(Files.readAllLines(file), hasSize(0));
+    }
+
+    private static MutableSpan span(String name, Span.Kind kind) {
+        MutableSpan span = new MutableSpan();
+        span.traceId("0000000000000001");
+        span.parentId("0000000000000003");
+        span.id("0000000000000002");
+        span.name(name);
+        span.kind(kind);
+        span.startTimestamp(1000L);
+        span.finishTimestamp(1250L);
+        span.localServiceName("shareit-server");
+        span.tag("http.path", "/bookings");
+        return span;
+    }
+}